@@ -0,0 +1,43 @@
+package com.company.aop.profiling;
+
+import com.company.management.RequestTimings;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Aspect adding the time spent in the mappers to the {@link RequestTimings} of the request.
+ */
+@Aspect
+public class MappingTimingAspect {
+
+    /**
+     * Pointcut that matches the mappers, between the entities and the DTOs.
+     */
+    @Pointcut("within(com.company.service.mapper..*)")
+    public void mapperPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that measures the duration of a mapping.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the mapper.
+     */
+    @Around("mapperPointcut()")
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return joinPoint.proceed();
+        }
+        long start = timings.startMapping();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timings.stopMapping(start);
+        }
+    }
+}
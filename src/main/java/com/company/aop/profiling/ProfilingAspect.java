@@ -0,0 +1,120 @@
+package com.company.aop.profiling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+/**
+ * Aspect measuring the latency of the repository, service and REST methods.
+ * <p>
+ * A share of the invocations, given by the sample rate, is recorded in the {@code method.invocation} timer of each method,
+ * with a percentile histogram. The count of the timers is therefore sampled too, not the latency distribution.
+ * <p>
+ * Every invocation is timed though, the ones slower than the threshold are kept in a {@link SlowInvocationLog}, with the
+ * outermost profiled method of the thread, to tell which service calls make a request slow.
+ */
+@Aspect
+public class ProfilingAspect {
+
+    private static final Duration MINIMUM_EXPECTED_LATENCY = Duration.ofMillis(1);
+
+    private static final Duration MAXIMUM_EXPECTED_LATENCY = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry;
+
+    private final SlowInvocationLog slowInvocations;
+
+    private final double sampleRate;
+
+    private final long slowThresholdNanos;
+
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<String> rootMethod = new ThreadLocal<>();
+
+    /**
+     * @param meterRegistry the registry of the timers.
+     * @param slowInvocations where the slow invocations are kept.
+     * @param sampleRate the share of the invocations recorded in the timers, between 0 and 1.
+     * @param slowThreshold the duration over which an invocation is kept as slow.
+     */
+    public ProfilingAspect(MeterRegistry meterRegistry, SlowInvocationLog slowInvocations, double sampleRate, Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowInvocations = slowInvocations;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * Advice that measures the duration of a method.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around(
+        "com.company.aop.logging.LoggingAspect.applicationPackagePointcut() && com.company.aop.logging.LoggingAspect.springBeanPointcut()"
+    )
+    public Object profileAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        String root = rootMethod.get();
+        if (root == null) {
+            rootMethod.set(methodName(joinPoint));
+        }
+        boolean failed = true;
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long duration = System.nanoTime() - start;
+            if (sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+                timer(joinPoint).record(duration, TimeUnit.NANOSECONDS);
+            }
+            if (duration >= slowThresholdNanos) {
+                String method = methodName(joinPoint);
+                slowInvocations.add(
+                    new SlowInvocation(
+                        Instant.now().minusNanos(duration),
+                        method,
+                        TimeUnit.NANOSECONDS.toMillis(duration),
+                        Thread.currentThread().getName(),
+                        root != null ? root : method,
+                        failed
+                    )
+                );
+            }
+            if (root == null) {
+                rootMethod.remove();
+            }
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return timers.computeIfAbsent(method, m ->
+            Timer.builder("method.invocation")
+                .description("Sampled latency of the repository, service and REST methods")
+                .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", m.getName())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MINIMUM_EXPECTED_LATENCY)
+                .maximumExpectedValue(MAXIMUM_EXPECTED_LATENCY)
+                .register(meterRegistry)
+        );
+    }
+
+    private static String methodName(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+}
@@ -0,0 +1,40 @@
+package com.company.aop.profiling;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Management endpoint giving the slow invocations kept by the {@link ProfilingAspect}, at {@code /management/profiling}.
+ */
+@Endpoint(id = "profiling")
+public class ProfilingEndpoint {
+
+    private final SlowInvocationLog slowInvocations;
+
+    private final double sampleRate;
+
+    private final long slowThresholdMillis;
+
+    public ProfilingEndpoint(SlowInvocationLog slowInvocations, double sampleRate, long slowThresholdMillis) {
+        this.slowInvocations = slowInvocations;
+        this.sampleRate = sampleRate;
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    @ReadOperation
+    public ProfilingDescriptor profiling() {
+        return new ProfilingDescriptor(sampleRate, slowThresholdMillis, slowInvocations.capacity(), slowInvocations.snapshot());
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowInvocations.clear();
+    }
+
+    /**
+     * The settings of the profiling and the slow invocations kept, the most recent first.
+     */
+    public record ProfilingDescriptor(double sampleRate, long slowThresholdMillis, int capacity, List<SlowInvocation> slowInvocations) {}
+}
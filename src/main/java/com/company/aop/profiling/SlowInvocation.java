@@ -0,0 +1,15 @@
+package com.company.aop.profiling;
+
+import java.time.Instant;
+
+/**
+ * A method invocation slower than the threshold of the {@link ProfilingAspect}.
+ *
+ * @param timestamp when the invocation started.
+ * @param method the class and name of the method.
+ * @param durationMillis how long the invocation took.
+ * @param thread the thread running the invocation.
+ * @param rootMethod the outermost profiled method running on the thread, usually the REST endpoint of the request.
+ * @param failed whether the invocation threw an exception.
+ */
+public record SlowInvocation(Instant timestamp, String method, long durationMillis, String thread, String rootMethod, boolean failed) {}
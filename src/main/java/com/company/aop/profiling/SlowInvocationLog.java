@@ -0,0 +1,55 @@
+package com.company.aop.profiling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last slow invocations, overwriting the oldest ones once full.
+ * <p>
+ * Adding an invocation takes no lock, a snapshot taken while invocations are added may miss some of them.
+ */
+public class SlowInvocationLog {
+
+    private final AtomicReferenceArray<SlowInvocation> slots;
+
+    private final AtomicLong added = new AtomicLong();
+
+    public SlowInvocationLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(SlowInvocation invocation) {
+        slots.set((int) (added.getAndIncrement() % slots.length()), invocation);
+    }
+
+    /**
+     * @return the invocations kept, the most recent first.
+     */
+    public List<SlowInvocation> snapshot() {
+        long last = added.get();
+        int count = (int) Math.min(last, slots.length());
+        List<SlowInvocation> invocations = new ArrayList<>(count);
+        for (long i = last - 1; i >= last - count; i--) {
+            SlowInvocation invocation = slots.get((int) (i % slots.length()));
+            if (invocation != null) {
+                invocations.add(invocation);
+            }
+        }
+        return invocations;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
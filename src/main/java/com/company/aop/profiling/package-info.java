@@ -0,0 +1,4 @@
+/**
+ * Profiling aspect.
+ */
+package com.company.aop.profiling;
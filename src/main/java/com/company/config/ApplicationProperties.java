@@ -1,5 +1,9 @@
 package com.company.config;
 
+import com.company.config.logging.OverflowPolicy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +17,84 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Cache cache = new Cache();
+
+    private final CarStream carStream = new CarStream();
+
+    private final Datasource datasource = new Datasource();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    private final PasswordEncoder passwordEncoder = new PasswordEncoder();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final Logging logging = new Logging();
+
+    private final Profiling profiling = new Profiling();
+
+    private final ServerTiming serverTiming = new ServerTiming();
+
+    private final QueryStatistics queryStatistics = new QueryStatistics();
+
+    private final ImportJobs importJobs = new ImportJobs();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Cache getCache() {
+        return cache;
+    }
+
+    public CarStream getCarStream() {
+        return carStream;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public PasswordEncoder getPasswordEncoder() {
+        return passwordEncoder;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public Logging getLogging() {
+        return logging;
+    }
+
+    public Profiling getProfiling() {
+        return profiling;
+    }
+
+    public ServerTiming getServerTiming() {
+        return serverTiming;
+    }
+
+    public QueryStatistics getQueryStatistics() {
+        return queryStatistics;
+    }
+
+    public ImportJobs getImportJobs() {
+        return importJobs;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +109,529 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Cache {
+
+        /**
+         * Sizing of the cache regions by name, overriding the {@code jhipster.cache.ehcache} defaults.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            private Long maxEntries;
+
+            private Integer timeToLiveSeconds;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+    }
+
+    public static class CarStream {
+
+        /**
+         * Number of cars whose changes are kept for a subscriber that falls behind, before it is told to overflow.
+         */
+        private int bufferSize = 256;
+
+        /**
+         * Number of threads sending the changes to the subscribers.
+         */
+        private int senderThreads = 4;
+
+        /**
+         * Time a subscriber may take to receive one change, after which its stream is cancelled.
+         */
+        private Duration writeTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Time after which a stream is closed, for the client to reconnect.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public Duration getWriteTimeout() {
+            return writeTimeout;
+        }
+
+        public void setWriteTimeout(Duration writeTimeout) {
+            this.writeTimeout = writeTimeout;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Datasource {
+
+        private final Replica replica = new Replica();
+
+        public Replica getReplica() {
+            return replica;
+        }
+
+        /**
+         * The read replica of the {@code spring.datasource} database, used by the read-only transactions when its
+         * URL is set. Its pool copies the settings of the primary pool.
+         */
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            private Integer maximumPoolSize;
+
+            /**
+             * Time after a committed write during which the reads of the same user still go to the primary.
+             */
+            private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Integer getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(Integer maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+
+            public Duration getReadYourWritesWindow() {
+                return readYourWritesWindow;
+            }
+
+            public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+                this.readYourWritesWindow = readYourWritesWindow;
+            }
+        }
+    }
+
+    public static class VirtualThreads {
+
+        /**
+         * Minimum time a virtual thread stays pinned to its carrier thread to be reported, when
+         * {@code spring.threads.virtual.enabled} is set.
+         */
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        public Duration getPinnedThreshold() {
+            return pinnedThreshold;
+        }
+
+        public void setPinnedThreshold(Duration pinnedThreshold) {
+            this.pinnedThreshold = pinnedThreshold;
+        }
+    }
+
+    public static class ConcurrencyLimit {
+
+        private boolean enabled = true;
+
+        private int initialLimit = 100;
+
+        private int minLimit = 10;
+
+        private int maxLimit = 1000;
+
+        /**
+         * Share of the limit that the writes of authenticated users may use on top of it.
+         */
+        private double priorityHeadroom = 0.25;
+
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getPriorityHeadroom() {
+            return priorityHeadroom;
+        }
+
+        public void setPriorityHeadroom(double priorityHeadroom) {
+            this.priorityHeadroom = priorityHeadroom;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    public static class PasswordEncoder {
+
+        /**
+         * Number of passwords hashed at once.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Number of passwords that may wait for a thread, before the requests hashing a password are rejected.
+         */
+        private int queueCapacity = 50;
+
+        /**
+         * Time after which the clients are told to retry the requests rejected because the queue was full.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    public static class JwtCache {
+
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of decoded tokens cached.
+         */
+        private int maximumSize = 10000;
+
+        /**
+         * Maximum time a decoded token is cached, it is never cached after its expiry.
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class Logging {
+
+        /**
+         * Number of log events that may wait to be written by the JSON appender.
+         */
+        private int bufferSize = 8192;
+
+        /**
+         * What happens to the log events of the JSON and Logstash appenders when they are logged faster than written.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_DEBUG;
+
+        /**
+         * One in how many events below WARN are kept by the sample overflow policy.
+         */
+        private int sampleRate = 10;
+
+        /**
+         * File the JSON appender writes to, instead of the console.
+         */
+        private String file;
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+    }
+
+    public static class Profiling {
+
+        private boolean enabled = true;
+
+        /**
+         * Share of the invocations recorded in the method.invocation timers, between 0 and 1.
+         */
+        private double sampleRate = 0.1;
+
+        /**
+         * Duration over which an invocation is kept as slow, whether sampled or not.
+         */
+        private Duration slowThreshold = Duration.ofMillis(500);
+
+        /**
+         * Number of the last slow invocations kept.
+         */
+        private int slowInvocations = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public Duration getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+
+        public int getSlowInvocations() {
+            return slowInvocations;
+        }
+
+        public void setSlowInvocations(int slowInvocations) {
+            this.slowInvocations = slowInvocations;
+        }
+    }
+
+    public static class ServerTiming {
+
+        private boolean enabled = true;
+
+        /**
+         * Whether the Server-Timing header is sent to everyone, not only to the admins.
+         */
+        private boolean debug = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isDebug() {
+            return debug;
+        }
+
+        public void setDebug(boolean debug) {
+            this.debug = debug;
+        }
+    }
+
+    public static class QueryStatistics {
+
+        private boolean enabled = true;
+
+        /**
+         * Duration over which a statement is logged, with its number of bind parameters.
+         */
+        private Duration slowThreshold = Duration.ofMillis(100);
+
+        /**
+         * Maximum number of fingerprints counted apart, the next ones are counted together.
+         */
+        private int maxFingerprints = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+
+        public int getMaxFingerprints() {
+            return maxFingerprints;
+        }
+
+        public void setMaxFingerprints(int maxFingerprints) {
+            this.maxFingerprints = maxFingerprints;
+        }
+    }
+
+    public static class ImportJobs {
+
+        /**
+         * Number of CSV imports run at once, on their own pool.
+         */
+        private int threads = 1;
+
+        /**
+         * Number of CSV imports that may wait for a thread, before the new ones fail right away.
+         */
+        private int queueCapacity = 10;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
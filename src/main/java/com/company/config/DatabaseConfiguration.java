@@ -1,12 +1,114 @@
 package com.company.config;
 
+import com.company.management.QueryStatistics;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.JdbcProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
 @EnableJpaRepositories({ "com.company.repository" })
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    /**
+     * Number of rows the exports fetch at a time through their database cursor.
+     */
+    public static final int EXPORT_FETCH_SIZE = 1000;
+
+    /**
+     * Times the connections waited for in the Hikari pools, for the Server-Timing header.
+     */
+    @Bean
+    public static BeanPostProcessor timingHikariPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (
+                    bean instanceof HikariDataSource dataSource &&
+                    dataSource.getMetricsTrackerFactory() == null &&
+                    dataSource.getMetricRegistry() == null
+                ) {
+                    Duration connectionTimeout = Duration.ofMillis(dataSource.getConnectionTimeout());
+                    dataSource.setMetricsTrackerFactory(new TimingMetricsTrackerFactory(meterRegistry, connectionTimeout));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Times the statements of Hibernate, for the Server-Timing header and the query statistics.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer timingHibernatePropertiesCustomizer() {
+        return hibernateProperties ->
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, TimingSessionEventListener.class.getName());
+    }
+
+    /**
+     * Replaces the {@code JdbcTemplate} of Spring Boot, with the same {@code spring.jdbc.template} settings, to time
+     * its statements for the Server-Timing header and the query statistics.
+     */
+    @Bean
+    public JdbcTemplate jdbcTemplate(
+        DataSource dataSource,
+        JdbcProperties jdbcProperties,
+        ObjectProvider<QueryStatistics> queryStatistics
+    ) {
+        return timingJdbcTemplate(dataSource, jdbcProperties, queryStatistics);
+    }
+
+    /**
+     * The {@code JdbcClient} of Spring Boot, on the timing {@code JdbcTemplate}.
+     */
+    @Bean
+    @Primary
+    public JdbcClient jdbcClient(JdbcTemplate jdbcTemplate) {
+        return JdbcClient.create(jdbcTemplate);
+    }
+
+    /**
+     * A {@code JdbcClient} for the exports, whose queries read their rows {@link #EXPORT_FETCH_SIZE} at a time, timed
+     * as the other statements.
+     */
+    @Bean
+    public JdbcClient exportJdbcClient(
+        DataSource dataSource,
+        JdbcProperties jdbcProperties,
+        ObjectProvider<QueryStatistics> queryStatistics
+    ) {
+        JdbcTemplate jdbcTemplate = timingJdbcTemplate(dataSource, jdbcProperties, queryStatistics);
+        jdbcTemplate.setFetchSize(EXPORT_FETCH_SIZE);
+        return JdbcClient.create(jdbcTemplate);
+    }
+
+    private static JdbcTemplate timingJdbcTemplate(
+        DataSource dataSource,
+        JdbcProperties jdbcProperties,
+        ObjectProvider<QueryStatistics> queryStatistics
+    ) {
+        JdbcTemplate jdbcTemplate = new TimingJdbcTemplate(dataSource, queryStatistics.getIfAvailable());
+        JdbcProperties.Template template = jdbcProperties.getTemplate();
+        jdbcTemplate.setFetchSize(template.getFetchSize());
+        jdbcTemplate.setMaxRows(template.getMaxRows());
+        if (template.getQueryTimeout() != null) {
+            jdbcTemplate.setQueryTimeout((int) template.getQueryTimeout().getSeconds());
+        }
+        return jdbcTemplate;
+    }
+}
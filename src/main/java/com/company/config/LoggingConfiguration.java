@@ -1,11 +1,16 @@
 package com.company.config;
 
-import static tech.jhipster.config.logging.LoggingUtils.*;
-
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.HashMap;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import com.company.config.logging.AsyncJsonAppender;
+import com.company.config.logging.LogSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,35 +18,115 @@ import org.springframework.context.annotation.Configuration;
 import tech.jhipster.config.JHipsterProperties;
 
 /*
- * Configures the console and Logstash log appenders from the app properties
+ * Configures the JSON console and Logstash log appenders from the app properties
  */
 @Configuration
 public class LoggingConfiguration {
 
+    private static final String CONSOLE_APPENDER_NAME = "CONSOLE";
+
+    private static final String JSON_APPENDER_NAME = "JSON";
+
+    private static final String LOGSTASH_APPENDER_NAME = "ASYNC_LOGSTASH";
+
     public LoggingConfiguration(
         @Value("${spring.application.name}") String appName,
         @Value("${server.port}") String serverPort,
         JHipsterProperties jHipsterProperties,
-        ObjectMapper mapper
-    ) throws JsonProcessingException {
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
-
-        Map<String, String> map = new HashMap<>();
-        map.put("app_name", appName);
-        map.put("app_port", serverPort);
-        String customFields = mapper.writeValueAsString(map);
+        Map<String, String> customFields = Map.of("app_name", appName, "app_port", serverPort);
 
         JHipsterProperties.Logging loggingProperties = jHipsterProperties.getLogging();
         JHipsterProperties.Logging.Logstash logstashProperties = loggingProperties.getLogstash();
+        ApplicationProperties.Logging jsonProperties = applicationProperties.getLogging();
 
+        List<AsyncJsonAppender> appenders = new ArrayList<>();
         if (loggingProperties.isUseJsonFormat()) {
-            addJsonConsoleAppender(context, customFields);
+            appenders.add(
+                new AsyncJsonAppender(
+                    JSON_APPENDER_NAME,
+                    jsonProperties.getFile() != null ? LogSink.file(Path.of(jsonProperties.getFile())) : LogSink.console(),
+                    customFields,
+                    jsonProperties.getBufferSize(),
+                    jsonProperties.getOverflowPolicy(),
+                    jsonProperties.getSampleRate(),
+                    meterRegistry
+                )
+            );
         }
         if (logstashProperties.isEnabled()) {
-            addLogstashTcpSocketAppender(context, customFields, logstashProperties);
+            appenders.add(
+                new AsyncJsonAppender(
+                    LOGSTASH_APPENDER_NAME,
+                    LogSink.socket(logstashProperties.getHost(), logstashProperties.getPort()),
+                    customFields,
+                    logstashProperties.getRingBufferSize(),
+                    jsonProperties.getOverflowPolicy(),
+                    jsonProperties.getSampleRate(),
+                    meterRegistry
+                )
+            );
+        }
+        if (!appenders.isEmpty()) {
+            JsonAppendersListener listener = new JsonAppendersListener(appenders, loggingProperties.isUseJsonFormat());
+            listener.setContext(context);
+            listener.attach();
+            context.addListener(listener);
+        }
+    }
+
+    /**
+     * Attaches the JSON appenders to the root logger, again after each reset of the logging configuration.
+     */
+    private static class JsonAppendersListener extends ContextAwareBase implements LoggerContextListener {
+
+        private final List<AsyncJsonAppender> appenders;
+
+        private final boolean replaceConsole;
+
+        JsonAppendersListener(List<AsyncJsonAppender> appenders, boolean replaceConsole) {
+            this.appenders = appenders;
+            this.replaceConsole = replaceConsole;
         }
-        if (loggingProperties.isUseJsonFormat() || logstashProperties.isEnabled()) {
-            addContextListener(context, customFields, loggingProperties);
+
+        void attach() {
+            Logger root = ((LoggerContext) getContext()).getLogger(Logger.ROOT_LOGGER_NAME);
+            if (replaceConsole) {
+                root.detachAppender(CONSOLE_APPENDER_NAME);
+            }
+            for (AsyncJsonAppender appender : appenders) {
+                appender.setContext(getContext());
+                appender.start();
+                root.addAppender(appender);
+            }
+        }
+
+        @Override
+        public boolean isResetResistant() {
+            return true;
+        }
+
+        @Override
+        public void onStart(LoggerContext context) {
+            attach();
+        }
+
+        @Override
+        public void onReset(LoggerContext context) {
+            attach();
+        }
+
+        @Override
+        public void onStop(LoggerContext context) {
+            appenders.forEach(AsyncJsonAppender::stop);
+        }
+
+        @Override
+        public void onLevelChange(Logger logger, Level level) {
+            // Nothing to do
         }
     }
 }
@@ -0,0 +1,51 @@
+package com.company.config;
+
+import com.company.aop.profiling.ProfilingAspect;
+import com.company.aop.profiling.ProfilingEndpoint;
+import com.company.aop.profiling.SlowInvocationLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Profiles the repository, service and REST methods, unless {@code application.profiling.enabled} is false.
+ * <p>
+ * When disabled, the aspect is not created at all, so the methods are not slowed down.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProfilingConfiguration {
+
+    private final ApplicationProperties.Profiling profilingProperties;
+
+    public ProfilingConfiguration(ApplicationProperties applicationProperties) {
+        this.profilingProperties = applicationProperties.getProfiling();
+    }
+
+    @Bean
+    public SlowInvocationLog slowInvocationLog() {
+        return new SlowInvocationLog(profilingProperties.getSlowInvocations());
+    }
+
+    @Bean
+    public ProfilingAspect profilingAspect(MeterRegistry meterRegistry, SlowInvocationLog slowInvocationLog) {
+        return new ProfilingAspect(
+            meterRegistry,
+            slowInvocationLog,
+            profilingProperties.getSampleRate(),
+            profilingProperties.getSlowThreshold()
+        );
+    }
+
+    @Bean
+    public ProfilingEndpoint profilingEndpoint(SlowInvocationLog slowInvocationLog) {
+        return new ProfilingEndpoint(
+            slowInvocationLog,
+            profilingProperties.getSampleRate(),
+            profilingProperties.getSlowThreshold().toMillis()
+        );
+    }
+}
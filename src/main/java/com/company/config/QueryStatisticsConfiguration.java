@@ -0,0 +1,48 @@
+package com.company.config;
+
+import com.company.management.QueriesEndpoint;
+import com.company.management.QueryStatistics;
+import com.company.management.StatementExecution;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Counts the statements by fingerprint and logs the slow ones, unless {@code application.query-statistics.enabled} is
+ * false.
+ * <p>
+ * The SQL of the Hibernate statements is given by a {@link StatementInspector}, the one of the {@code JdbcClient}
+ * statements by the {@link TimingJdbcTemplate}, both statements being timed as for the Server-Timing header.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.query-statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatisticsConfiguration {
+
+    private final ApplicationProperties.QueryStatistics queryStatisticsProperties;
+
+    public QueryStatisticsConfiguration(ApplicationProperties applicationProperties) {
+        this.queryStatisticsProperties = applicationProperties.getQueryStatistics();
+    }
+
+    @Bean
+    public QueryStatistics queryStatistics() {
+        return new QueryStatistics(queryStatisticsProperties.getSlowThreshold(), queryStatisticsProperties.getMaxFingerprints());
+    }
+
+    @Bean
+    public QueriesEndpoint queriesEndpoint(QueryStatistics queryStatistics) {
+        return new QueriesEndpoint(queryStatistics);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsHibernatePropertiesCustomizer(QueryStatistics queryStatistics) {
+        StatementInspector statementInspector = sql -> {
+            StatementExecution.prepare(queryStatistics, sql);
+            return sql;
+        };
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * Sends the read-only transactions to a read replica, when {@code application.datasource.replica.url} is set.
+ * <p>
+ * The primary pool is configured by {@code spring.datasource} as usual, and the replica pool copies its settings.
+ * Both pools are beans, so each one has its own {@code hikaricp} metrics, tagged with its pool name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.replica", name = "url")
+public class ReplicaDataSourceConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaDataSourceConfiguration.class);
+
+    private final ApplicationProperties.Datasource.Replica replicaProperties;
+
+    public ReplicaDataSourceConfiguration(ApplicationProperties applicationProperties) {
+        this.replicaProperties = applicationProperties.getDatasource().getReplica();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(dataSourceProperties.getName())) {
+            dataSource.setPoolName(dataSourceProperties.getName());
+        }
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource) {
+        LOG.debug("Configuring the read replica {}", replicaProperties.getUrl());
+        HikariConfig config = new HikariConfig();
+        primaryDataSource.copyStateTo(config);
+        config.setPoolName((primaryDataSource.getPoolName() != null ? primaryDataSource.getPoolName() : "Hikari") + "Replica");
+        config.setJdbcUrl(replicaProperties.getUrl());
+        if (replicaProperties.getUsername() != null) {
+            config.setUsername(replicaProperties.getUsername());
+            config.setPassword(replicaProperties.getPassword());
+        }
+        if (replicaProperties.getMaximumPoolSize() != null) {
+            config.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        }
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource
+    ) {
+        return new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaProperties.getReadYourWritesWindow())
+        );
+    }
+}
@@ -0,0 +1,189 @@
+package com.company.config;
+
+import com.company.security.SecurityUtils;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes the connections of the read-only transactions to the replica, and all the others to the primary.
+ * <p>
+ * It must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so that the
+ * connection is only fetched by the first statement, once the transaction has been marked read-only. A user whose
+ * read-write transaction committed less than {@code readYourWritesWindow} ago still reads from the primary, so that
+ * the replication lag never hides their own writes.
+ * <p>
+ * Only the transactions whose statements changed rows count as writes: the connections of the read-write transactions
+ * are wrapped to watch the update counts of their statements, so that a read-write transaction that only reads does
+ * not keep its user on the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA,
+    }
+
+    private static final int MAX_TRACKED_WRITERS = 10_000;
+
+    private static final Set<String> UPDATE_METHODS = Set.of("executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final long readYourWritesWindowNanos;
+
+    // The time of the last committed write of each user
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Target determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        return login.isPresent() && hasRecentWrite(login.orElseThrow()) ? Target.PRIMARY : Target.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackWrites(super.getConnection(username, password));
+    }
+
+    /**
+     * Wrap the connection of a read-write transaction of a user, so that its first write registers the user as a
+     * recent writer once the transaction commits.
+     */
+    private Connection trackWrites(Connection connection) {
+        if (
+            TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !TransactionSynchronizationManager.isSynchronizationActive()
+        ) {
+            return connection;
+        }
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        if (login.isEmpty()) {
+            return connection;
+        }
+        return (Connection) proxy(Connection.class, connection, new WriteTracker(login.orElseThrow()));
+    }
+
+    private void recordWrite(String login) {
+        long now = System.nanoTime();
+        if (lastWrites.size() >= MAX_TRACKED_WRITERS) {
+            lastWrites.values().removeIf(time -> now - time > readYourWritesWindowNanos);
+        }
+        lastWrites.put(login, now);
+    }
+
+    private boolean hasRecentWrite(String login) {
+        Long time = lastWrites.get(login);
+        if (time == null) {
+            return false;
+        }
+        if (System.nanoTime() - time > readYourWritesWindowNanos) {
+            lastWrites.remove(login, time);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Proxy a connection or a statement, so that the statements it creates are proxied too and report their writes.
+     */
+    private static Object proxy(Class<?> type, Object target, WriteTracker tracker) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return proxy(method.getReturnType(), result, tracker);
+            }
+            if (target instanceof Statement statement && changedRows(statement, method, result)) {
+                tracker.written();
+            }
+            return result;
+        };
+        return Proxy.newProxyInstance(ReplicaRoutingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static boolean changedRows(Statement statement, Method method, Object result) throws SQLException {
+        if (!UPDATE_METHODS.contains(method.getName())) {
+            return "execute".equals(method.getName()) && Boolean.FALSE.equals(result) && statement.getUpdateCount() > 0;
+        }
+        if (result instanceof int[] counts) {
+            return Arrays.stream(counts).anyMatch(count -> count > 0 || count == Statement.SUCCESS_NO_INFO);
+        }
+        if (result instanceof long[] counts) {
+            return Arrays.stream(counts).anyMatch(count -> count > 0 || count == Statement.SUCCESS_NO_INFO);
+        }
+        return result instanceof Number count && count.longValue() > 0;
+    }
+
+    /**
+     * Registers the user of a read-write transaction as a recent writer after the commit of its first write.
+     */
+    private final class WriteTracker {
+
+        private final String login;
+
+        private boolean registered;
+
+        WriteTracker(String login) {
+            this.login = login;
+        }
+
+        void written() {
+            if (registered) {
+                return;
+            }
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                // an auto-committed write
+                recordWrite(login);
+                return;
+            }
+            registered = true;
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite(login);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        registered = false;
+                    }
+                }
+            );
+        }
+    }
+}
@@ -3,7 +3,11 @@ package com.company.config;
 import static org.springframework.security.config.Customizer.withDefaults;
 
 import com.company.security.*;
+import com.company.web.filter.AdaptiveConcurrencyLimiter;
+import com.company.web.filter.ConcurrencyLimitFilter;
+import com.company.web.filter.ServerTimingFilter;
 import com.company.web.filter.SpaWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,6 +19,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
@@ -28,17 +33,61 @@ public class SecurityConfiguration {
 
     private final JHipsterProperties jHipsterProperties;
 
-    public SecurityConfiguration(JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties.ConcurrencyLimit concurrencyLimitProperties;
+
+    private final ApplicationProperties.PasswordEncoder passwordEncoderProperties;
+
+    private final ApplicationProperties.ServerTiming serverTimingProperties;
+
+    public SecurityConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.jHipsterProperties = jHipsterProperties;
+        this.concurrencyLimitProperties = applicationProperties.getConcurrencyLimit();
+        this.passwordEncoderProperties = applicationProperties.getPasswordEncoder();
+        this.serverTimingProperties = applicationProperties.getServerTiming();
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(),
+            passwordEncoderProperties.getThreads(),
+            passwordEncoderProperties.getQueueCapacity(),
+            meterRegistry
+        );
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AdaptiveConcurrencyLimiter concurrencyLimiter(MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(
+            concurrencyLimitProperties.getInitialLimit(),
+            concurrencyLimitProperties.getMinLimit(),
+            concurrencyLimitProperties.getMaxLimit(),
+            concurrencyLimitProperties.getPriorityHeadroom(),
+            meterRegistry
+        );
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, MvcRequestMatcher.Builder mvc) throws Exception {
+    public SecurityFilterChain filterChain(
+        HttpSecurity http,
+        MvcRequestMatcher.Builder mvc,
+        AdaptiveConcurrencyLimiter concurrencyLimiter,
+        MeterRegistry meterRegistry
+    ) throws Exception {
+        if (serverTimingProperties.isEnabled()) {
+            // After the authentication, to know the admins
+            http.addFilterAfter(
+                new ServerTimingFilter(meterRegistry, serverTimingProperties.isDebug()),
+                BearerTokenAuthenticationFilter.class
+            );
+        }
+        if (concurrencyLimitProperties.isEnabled()) {
+            // After the authentication, to know the authenticated writes
+            http.addFilterAfter(
+                new ConcurrencyLimitFilter(concurrencyLimiter, concurrencyLimitProperties.getRetryAfter()),
+                BearerTokenAuthenticationFilter.class
+            );
+        }
         http
             .cors(withDefaults())
             .csrf(csrf -> csrf.disable())
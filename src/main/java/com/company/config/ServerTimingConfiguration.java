@@ -0,0 +1,29 @@
+package com.company.config;
+
+import com.company.aop.profiling.MappingTimingAspect;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Times the mappers and the serialization of the API requests, for the {@link com.company.web.filter.ServerTimingFilter},
+ * unless {@code application.server-timing.enabled} is false. The database is timed by the {@link DatabaseConfiguration}.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfiguration {
+
+    @Bean
+    public MappingTimingAspect mappingTimingAspect() {
+        return new MappingTimingAspect();
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimingJackson2HttpMessageConverter(objectMapper);
+    }
+}
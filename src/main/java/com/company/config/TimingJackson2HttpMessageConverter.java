@@ -0,0 +1,75 @@
+package com.company.config;
+
+import com.company.management.RequestTimings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.lang.Nullable;
+
+/**
+ * Adds the time serializing the responses to the {@link RequestTimings} of the request.
+ * <p>
+ * When the request asks for a {@code Server-Timing} header, the response is serialized before its headers are sent,
+ * so that the header has the serialization time.
+ */
+public class TimingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        if (
+            !timings.isServerTimingHeader() ||
+            !(outputMessage instanceof ServletServerHttpResponse response) ||
+            response.getServletResponse().isCommitted()
+        ) {
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                timings.addSerialization(System.nanoTime() - start);
+            }
+            return;
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        super.writeInternal(object, type, new BufferedOutputMessage(body, outputMessage.getHeaders()));
+        timings.addSerialization(System.nanoTime() - start);
+        outputMessage.getHeaders().set(RequestTimings.SERVER_TIMING_HEADER, timings.serverTiming());
+        body.writeTo(outputMessage.getBody());
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final OutputStream body;
+
+        private final HttpHeaders headers;
+
+        BufferedOutputMessage(OutputStream body, HttpHeaders headers) {
+            this.body = body;
+            this.headers = headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.company.config;
+
+import com.company.management.QueryStatistics;
+import com.company.management.RequestTimings;
+import com.company.management.StatementExecution;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.CallableStatementCallback;
+import org.springframework.jdbc.core.CallableStatementCreator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.lang.Nullable;
+
+/**
+ * Times the statements run through the {@code JdbcTemplate}, and so the {@code JdbcClient}, for the
+ * {@link RequestTimings} of the request and the {@link QueryStatistics}.
+ * <p>
+ * The time of a query includes reading and mapping its rows, which the template does before releasing the statement,
+ * except for the streamed queries, whose rows are read after the template returns. The SQL is taken from the methods
+ * all the queries and updates of the {@code JdbcClient} go through. Each method that runs a statement records it in a
+ * {@code finally} block, so the statements that fail or time out are recorded as well, and leave nothing behind on the
+ * thread. A method called by another one records the statement first, which makes the outer recording a no-op.
+ */
+public class TimingJdbcTemplate extends JdbcTemplate {
+
+    private final QueryStatistics queryStatistics;
+
+    /**
+     * @param dataSource the data source of the statements.
+     * @param queryStatistics the statistics the statements are added to, {@code null} if they are disabled.
+     */
+    public TimingJdbcTemplate(DataSource dataSource, @Nullable QueryStatistics queryStatistics) {
+        super(dataSource);
+        this.queryStatistics = queryStatistics;
+    }
+
+    @Override
+    public <T> T execute(StatementCallback<T> action) throws DataAccessException {
+        prepare(action instanceof SqlProvider sqlProvider ? sqlProvider.getSql() : null);
+        try {
+            return super.execute(action);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public void execute(String sql) throws DataAccessException {
+        prepare(sql);
+        try {
+            super.execute(sql);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public <T> T query(String sql, ResultSetExtractor<T> rse) throws DataAccessException {
+        prepare(sql);
+        try {
+            return super.query(sql, rse);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public <T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper) throws DataAccessException {
+        prepare(sql);
+        try {
+            return super.queryForStream(sql, rowMapper);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public int update(String sql) throws DataAccessException {
+        prepare(sql);
+        try {
+            return super.update(sql);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public int[] batchUpdate(String... sql) throws DataAccessException {
+        try {
+            return super.batchUpdate(sql);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action) throws DataAccessException {
+        prepare(psc);
+        try {
+            return super.execute(psc, action);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public <T> T execute(String sql, PreparedStatementCallback<T> action) throws DataAccessException {
+        prepare(sql);
+        try {
+            return super.execute(sql, action);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public <T> T query(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss, ResultSetExtractor<T> rse)
+        throws DataAccessException {
+        prepare(psc);
+        try {
+            return super.query(psc, pss, rse);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public <T> Stream<T> queryForStream(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss, RowMapper<T> rowMapper)
+        throws DataAccessException {
+        prepare(psc);
+        try {
+            return super.queryForStream(psc, pss, rowMapper);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    protected int update(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss) throws DataAccessException {
+        prepare(psc);
+        try {
+            return super.update(psc, pss);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public int update(PreparedStatementCreator psc, KeyHolder generatedKeyHolder) throws DataAccessException {
+        prepare(psc);
+        try {
+            return super.update(psc, generatedKeyHolder);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public int[] batchUpdate(PreparedStatementCreator psc, BatchPreparedStatementSetter pss, KeyHolder generatedKeyHolder)
+        throws DataAccessException {
+        prepare(psc);
+        try {
+            return super.batchUpdate(psc, pss, generatedKeyHolder);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    public <T> T execute(CallableStatementCreator csc, CallableStatementCallback<T> action) throws DataAccessException {
+        prepare(csc instanceof SqlProvider sqlProvider ? sqlProvider.getSql() : null);
+        try {
+            return super.execute(csc, action);
+        } finally {
+            StatementExecution.stop();
+        }
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        StatementExecution.start();
+    }
+
+    private void prepare(PreparedStatementCreator psc) {
+        if (psc instanceof SqlProvider sqlProvider) {
+            prepare(sqlProvider.getSql());
+        }
+    }
+
+    private void prepare(@Nullable String sql) {
+        if (queryStatistics != null && sql != null) {
+            StatementExecution.prepare(queryStatistics, sql);
+        }
+    }
+}
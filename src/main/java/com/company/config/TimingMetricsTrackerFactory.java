@@ -0,0 +1,89 @@
+package com.company.config;
+
+import com.company.management.RequestTimings;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Times the connections the request threads wait for in a Hikari pool, for the {@link RequestTimings} of the request.
+ * <p>
+ * The pool measures the wait itself, on the thread getting the connection, so the time is right even when the
+ * connection is only fetched by the first statement, as with a {@code LazyConnectionDataSourceProxy}. A request that
+ * gave up waiting waited for the whole connection timeout. A pool only takes one tracker factory, so this one also
+ * records the {@code hikaricp} metrics Spring Boot would otherwise have set up.
+ */
+public class TimingMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final long connectionTimeoutNanos;
+
+    /**
+     * @param meterRegistry the registry of the pool metrics, looked up when the pool starts.
+     * @param connectionTimeout the connection timeout of the pool.
+     */
+    public TimingMetricsTrackerFactory(ObjectProvider<MeterRegistry> meterRegistry, Duration connectionTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.connectionTimeoutNanos = connectionTimeout.toNanos();
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        IMetricsTracker metrics = registry != null
+            ? new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats)
+            : new IMetricsTracker() {};
+        return new TimingMetricsTracker(metrics, connectionTimeoutNanos);
+    }
+
+    private static final class TimingMetricsTracker implements IMetricsTracker {
+
+        private final IMetricsTracker metrics;
+
+        private final long connectionTimeoutNanos;
+
+        private TimingMetricsTracker(IMetricsTracker metrics, long connectionTimeoutNanos) {
+            this.metrics = metrics;
+            this.connectionTimeoutNanos = connectionTimeoutNanos;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            metrics.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            addConnectionAcquisition(elapsedAcquiredNanos);
+            metrics.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            metrics.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            addConnectionAcquisition(connectionTimeoutNanos);
+            metrics.recordConnectionTimeout();
+        }
+
+        @Override
+        public void close() {
+            metrics.close();
+        }
+
+        private static void addConnectionAcquisition(long nanos) {
+            RequestTimings timings = RequestTimings.current();
+            if (timings != null) {
+                timings.addConnectionAcquisition(nanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.company.config;
+
+import com.company.management.QueryStatistics;
+import com.company.management.RequestTimings;
+import com.company.management.StatementExecution;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times the statements Hibernate runs, for the {@link RequestTimings} of the request and the {@link QueryStatistics}.
+ * <p>
+ * Hibernate creates one listener per session, which a single thread uses. The time reading the rows of a result set
+ * is not part of the statement time. The statements run by the {@code JdbcClient} are timed by the
+ * {@link TimingJdbcTemplate}. The connections are timed by the pool, see {@link TimingMetricsTrackerFactory}: Hibernate
+ * may be handed a lazy connection, which is only fetched from the pool by its first statement.
+ */
+public class TimingSessionEventListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        StatementExecution.start();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        StatementExecution.stop();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        StatementExecution.start();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        StatementExecution.stop();
+    }
+}
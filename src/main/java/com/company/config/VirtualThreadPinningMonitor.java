@@ -0,0 +1,77 @@
+package com.company.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Reports the virtual threads that block while pinned to their carrier thread, from the
+ * {@code jdk.VirtualThreadPinned} JFR event.
+ * <p>
+ * A pinned virtual thread, blocking in a {@code synchronized} block or a native frame, holds its carrier thread
+ * like a platform thread would. Each pinning is recorded by the {@code jvm.threads.virtual.pinned} timer, and the
+ * stack trace of each new pinning location is logged once.
+ */
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private static final int MAX_LOGGED_LOCATIONS = 1000;
+
+    private final Duration threshold;
+
+    private final Timer pinned;
+
+    private final Set<String> loggedLocations = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads were pinned to their carrier thread while blocked")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        LOG.debug("Reporting the virtual threads pinned for more than {}", threshold);
+    }
+
+    @Override
+    public void destroy() {
+        recordingStream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String stackTrace = frames
+            .stream()
+            .limit(LOGGED_FRAMES)
+            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+            .collect(Collectors.joining("\n\tat "));
+        if (loggedLocations.size() < MAX_LOGGED_LOCATIONS && loggedLocations.add(stackTrace)) {
+            LOG.warn("Virtual thread pinned for {} ms, at\n\tat {}", event.getDuration().toMillis(), stackTrace);
+        }
+    }
+}
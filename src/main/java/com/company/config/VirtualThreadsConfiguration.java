@@ -0,0 +1,46 @@
+package com.company.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Runs the servlet requests on virtual threads, when {@code spring.threads.virtual.enabled} is set on Java 21+.
+ * <p>
+ * Spring Boot switches the {@code @Async} and scheduling executors to virtual threads, but not Undertow: its
+ * blocking requests are dispatched to a fixed pool of worker threads. They are dispatched to a virtual thread
+ * each instead, so a request waiting for the database or a remote server does not hold a platform thread. The
+ * {@link VirtualThreadPinningMonitor} reports the virtual threads that block while pinned to their carrier.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> {
+                LOG.debug("Dispatching the servlet requests to virtual threads");
+                VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("demo-http-");
+                deploymentInfo.setExecutor(executor);
+                deploymentInfo.setAsyncExecutor(executor);
+            });
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new VirtualThreadPinningMonitor(applicationProperties.getVirtualThreads().getPinnedThreshold(), meterRegistry);
+    }
+}
@@ -0,0 +1,267 @@
+package com.company.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes the log events as lines of JSON to a {@link LogSink}, from a dedicated thread.
+ * <p>
+ * The logging threads only add the events to a {@link LogEventRingBuffer}, without taking a lock, so a slow console,
+ * disk or network does not slow down the requests. When the buffer fills up, the {@link OverflowPolicy} decides which
+ * events are dropped. A sink that fails is opened again after a second, the events written meanwhile are dropped.
+ * <p>
+ * The {@code logging.appender.queue} gauge gives the events waiting in the buffer, the {@code logging.appender.dropped}
+ * counter the events dropped by level, and the {@code logging.appender.encode} timer the time encoding an event.
+ */
+public class AsyncJsonAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final double DISCARDING_THRESHOLD = 0.8;
+
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long REOPEN_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+
+    private static final int ENCODE_BUFFER_SIZE = 1024;
+
+    private final LogSink sink;
+
+    private final JsonLogEncoder encoder;
+
+    private final int bufferSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final int sampleRate;
+
+    private final Map<Level, Counter> dropped = new HashMap<>();
+
+    private final Timer encodeTime;
+
+    private final AtomicLong sampled = new AtomicLong();
+
+    private volatile LogEventRingBuffer<ILoggingEvent> buffer;
+
+    private volatile Thread writer;
+
+    private volatile boolean writerParked;
+
+    /**
+     * @param name the name of the appender, also the {@code appender} tag of its meters.
+     * @param sink the destination of the lines.
+     * @param customFields the fields added to each line.
+     * @param bufferSize the number of events that may wait to be written.
+     * @param overflowPolicy what happens to the events when the buffer fills up.
+     * @param sampleRate one in how many events are kept by the {@link OverflowPolicy#SAMPLE} policy.
+     * @param meterRegistry the registry of the meters of the appender.
+     */
+    public AsyncJsonAppender(
+        String name,
+        LogSink sink,
+        Map<String, String> customFields,
+        int bufferSize,
+        OverflowPolicy overflowPolicy,
+        int sampleRate,
+        MeterRegistry meterRegistry
+    ) {
+        setName(name);
+        this.sink = sink;
+        this.encoder = new JsonLogEncoder(customFields);
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+        Gauge.builder("logging.appender.queue", this, AsyncJsonAppender::getQueueSize)
+            .description("Log events waiting to be written")
+            .tag("appender", name)
+            .register(meterRegistry);
+        for (Level level : List.of(Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR)) {
+            dropped.put(
+                level,
+                Counter.builder("logging.appender.dropped")
+                    .description("Log events dropped, because the buffer was full or the sink failed")
+                    .tag("appender", name)
+                    .tag("level", level.toString().toLowerCase())
+                    .register(meterRegistry)
+            );
+        }
+        this.encodeTime = Timer.builder("logging.appender.encode")
+            .description("Time encoding a log event to JSON")
+            .tag("appender", name)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        buffer = new LogEventRingBuffer<>(bufferSize);
+        writer = new Thread(this::write, "json-logging-" + getName());
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        Thread currentWriter = writer;
+        LockSupport.unpark(currentWriter);
+        try {
+            currentWriter.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!offer(event)) {
+            drop(event);
+            return;
+        }
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean offer(ILoggingEvent event) {
+        LogEventRingBuffer<ILoggingEvent> ring = buffer;
+        if (overflowPolicy != OverflowPolicy.BLOCK && ring.size() >= ring.capacity() * DISCARDING_THRESHOLD) {
+            int level = event.getLevel().toInt();
+            if (overflowPolicy == OverflowPolicy.DROP_DEBUG && level < Level.INFO_INT) {
+                return false;
+            }
+            if (overflowPolicy == OverflowPolicy.SAMPLE && level < Level.WARN_INT && sampled.getAndIncrement() % sampleRate != 0) {
+                return false;
+            }
+        }
+        // The message, MDC and thread name are read by the writer thread
+        event.prepareForDeferredProcessing();
+        if (ring.offer(event)) {
+            return true;
+        }
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+            return false;
+        }
+        while (isStarted()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+            if (ring.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drop(ILoggingEvent event) {
+        Counter counter = dropped.get(event.getLevel());
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private void write() {
+        LogEventRingBuffer<ILoggingEvent> ring = buffer;
+        ByteArrayOutputStream line = new ByteArrayOutputStream(ENCODE_BUFFER_SIZE);
+        OutputStream out = null;
+        boolean unflushed = false;
+        long reopenAt = System.nanoTime();
+        while (true) {
+            ILoggingEvent event = ring.poll();
+            if (event == null) {
+                if (unflushed) {
+                    try {
+                        out.flush();
+                    } catch (IOException e) {
+                        addWarn("Failed to flush the log sink", e);
+                        out = close(out);
+                        reopenAt = System.nanoTime() + REOPEN_DELAY_NANOS;
+                    }
+                    unflushed = false;
+                }
+                if (!isStarted() && ring.size() == 0) {
+                    break;
+                }
+                writerParked = true;
+                if (isStarted() && ring.size() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                writerParked = false;
+                continue;
+            }
+
+            line.reset();
+            long start = System.nanoTime();
+            try {
+                encoder.encode(event, line);
+            } catch (IOException | RuntimeException e) {
+                addWarn("Failed to encode a log event", e);
+                drop(event);
+                continue;
+            }
+            long now = System.nanoTime();
+            encodeTime.record(now - start, TimeUnit.NANOSECONDS);
+
+            if (out == null && now - reopenAt >= 0) {
+                try {
+                    out = sink.open();
+                } catch (IOException e) {
+                    addWarn("Failed to open the log sink, retrying in a second", e);
+                    reopenAt = now + REOPEN_DELAY_NANOS;
+                }
+            }
+            if (out == null) {
+                drop(event);
+                continue;
+            }
+            try {
+                line.writeTo(out);
+                unflushed = true;
+            } catch (IOException e) {
+                addWarn("Failed to write to the log sink, retrying in a second", e);
+                drop(event);
+                out = close(out);
+                unflushed = false;
+                reopenAt = now + REOPEN_DELAY_NANOS;
+            }
+        }
+        close(out);
+    }
+
+    private OutputStream close(OutputStream out) {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                addWarn("Failed to close the log sink", e);
+            }
+        }
+        return null;
+    }
+
+    public int getQueueSize() {
+        LogEventRingBuffer<ILoggingEvent> ring = buffer;
+        return ring == null ? 0 : ring.size();
+    }
+}
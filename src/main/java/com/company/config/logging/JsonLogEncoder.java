@@ -0,0 +1,56 @@
+package com.company.config.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Writes a log event as a line of JSON, with the field names of the Logstash encoder.
+ */
+final class JsonLogEncoder {
+
+    private static final byte[] LINE_SEPARATOR = { '\n' };
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final Map<String, String> customFields;
+
+    /**
+     * @param customFields the fields added to each line, like the application name.
+     */
+    JsonLogEncoder(Map<String, String> customFields) {
+        this.customFields = Map.copyOf(customFields);
+    }
+
+    void encode(ILoggingEvent event, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.writeStartObject();
+            generator.writeStringField("@timestamp", DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(event.getTimeStamp())));
+            generator.writeStringField("level", event.getLevel().toString());
+            generator.writeStringField("logger_name", event.getLoggerName());
+            generator.writeStringField("thread_name", event.getThreadName());
+            generator.writeStringField("message", event.getFormattedMessage());
+            IThrowableProxy throwableProxy = event.getThrowableProxy();
+            if (throwableProxy != null) {
+                generator.writeStringField("stack_trace", ThrowableProxyUtil.asString(throwableProxy));
+            }
+            for (Map.Entry<String, String> entry : event.getMDCPropertyMap().entrySet()) {
+                generator.writeStringField(entry.getKey(), entry.getValue());
+            }
+            for (Map.Entry<String, String> entry : customFields.entrySet()) {
+                generator.writeStringField(entry.getKey(), entry.getValue());
+            }
+            generator.writeEndObject();
+        }
+        out.write(LINE_SEPARATOR);
+    }
+}
@@ -0,0 +1,89 @@
+package com.company.config.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of the log events, written by the logging threads and read by a single thread.
+ * <p>
+ * Each slot has a sequence number telling whether it is free for the writer at a position, or holds the event at
+ * that position for the reader. A writer claims its position with a compare-and-set, so the logging threads never
+ * take a lock nor wait for each other.
+ */
+final class LogEventRingBuffer<E> {
+
+    private final Object[] slots;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity the number of events, rounded up to a power of two.
+     */
+    LogEventRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an event, if there is room for it.
+     *
+     * @return whether the event was added.
+     */
+    boolean offer(E event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = event;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Remove the oldest event, from the single reading thread.
+     *
+     * @return the event, or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head.get();
+        int index = (int) position & mask;
+        if (sequences.getAcquire(index) != position + 1) {
+            return null;
+        }
+        E event = (E) slots[index];
+        slots[index] = null;
+        sequences.setRelease(index, position + slots.length);
+        head.setRelease(position + 1);
+        return event;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
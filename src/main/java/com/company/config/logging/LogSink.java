@@ -0,0 +1,73 @@
+package com.company.config.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Destination of the lines written by the {@link AsyncJsonAppender}, opened again after a write failure.
+ */
+@FunctionalInterface
+public interface LogSink {
+    int CONNECT_TIMEOUT_MILLIS = 1000;
+
+    int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Open the destination.
+     *
+     * @return the stream to write the lines to, flushed after each batch of lines.
+     * @throws IOException if the destination is not available.
+     */
+    OutputStream open() throws IOException;
+
+    /**
+     * @return the standard output, not closed by the appender.
+     */
+    static LogSink console() {
+        return () ->
+            new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+    }
+
+    /**
+     * @param file the file the lines are appended to.
+     * @return the file.
+     */
+    static LogSink file(Path file) {
+        return () ->
+            new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE),
+                BUFFER_SIZE
+            );
+    }
+
+    /**
+     * @param host the host of the server reading the lines, like Logstash with a {@code json_lines} TCP input.
+     * @param port the port of the server.
+     * @return a TCP connection to the server.
+     */
+    static LogSink socket(String host, int port) {
+        return () -> {
+            Socket socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+                return new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        };
+    }
+}
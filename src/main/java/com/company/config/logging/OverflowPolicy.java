@@ -0,0 +1,22 @@
+package com.company.config.logging;
+
+/**
+ * What happens to the log events when the {@link AsyncJsonAppender} buffer fills up, because they are logged faster
+ * than they are written.
+ */
+public enum OverflowPolicy {
+    /**
+     * The logging threads wait for room in the buffer: no event is lost, but logging can slow down the requests.
+     */
+    BLOCK,
+    /**
+     * The {@code DEBUG} and {@code TRACE} events are dropped once the buffer is {@code 80%} full, to keep room for the
+     * others. The other events are only dropped when it is full: the logging threads never wait.
+     */
+    DROP_DEBUG,
+    /**
+     * Only one in {@code sample-rate} of the events below {@code WARN} is kept once the buffer is {@code 80%} full. The
+     * others are only dropped when it is full: the logging threads never wait.
+     */
+    SAMPLE,
+}
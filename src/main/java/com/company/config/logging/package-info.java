@@ -0,0 +1,4 @@
+/**
+ * Asynchronous JSON logging.
+ */
+package com.company.config.logging;
@@ -0,0 +1,76 @@
+package com.company.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * The number of cars and total car price of an {@link Owner}.
+ * <p>
+ * This is a read model: the rows are written with SQL by {@link com.company.repository.OwnerFleetSummaryRepository},
+ * in the transactions that change the cars.
+ */
+@Entity
+@Immutable
+@Table(name = "owner_fleet_summary")
+public class OwnerFleetSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", insertable = false, updatable = false)
+    private Owner owner;
+
+    @Column(name = "car_count", nullable = false)
+    private Long carCount;
+
+    @Column(name = "total_value", precision = 21, scale = 2, nullable = false)
+    private BigDecimal totalValue;
+
+    public Long getOwnerId() {
+        return this.ownerId;
+    }
+
+    public Owner getOwner() {
+        return this.owner;
+    }
+
+    public Long getCarCount() {
+        return this.carCount;
+    }
+
+    public BigDecimal getTotalValue() {
+        return this.totalValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OwnerFleetSummary)) {
+            return false;
+        }
+        return getOwnerId() != null && getOwnerId().equals(((OwnerFleetSummary) o).getOwnerId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OwnerFleetSummary{" +
+            "ownerId=" + getOwnerId() +
+            ", carCount=" + getCarCount() +
+            ", totalValue=" + getTotalValue() +
+            "}";
+    }
+}
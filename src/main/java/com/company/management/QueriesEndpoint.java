@@ -0,0 +1,52 @@
+package com.company.management;
+
+import java.util.List;
+import java.util.Locale;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Management endpoint giving the fingerprints of the {@link QueryStatistics} taking the most time, at
+ * {@code /management/queries?top=20&sort=total}. The {@code sort} is one of total, count, mean or max.
+ */
+@Endpoint(id = "queries")
+public class QueriesEndpoint {
+
+    private static final int DEFAULT_TOP = 20;
+
+    private final QueryStatistics queryStatistics;
+
+    public QueriesEndpoint(QueryStatistics queryStatistics) {
+        this.queryStatistics = queryStatistics;
+    }
+
+    @ReadOperation
+    public QueriesDescriptor queries(@Nullable Integer top, @Nullable String sort) {
+        QueryStatistics.Order order = QueryStatistics.Order.TOTAL;
+        if (sort != null) {
+            try {
+                order = QueryStatistics.Order.valueOf(sort.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidEndpointRequestException("Unknown sort: " + sort, "The sort is one of total, count, mean or max");
+            }
+        }
+        return new QueriesDescriptor(
+            queryStatistics.getSlowThresholdMillis(),
+            queryStatistics.getFingerprints(),
+            queryStatistics.top(order, top != null ? Math.max(0, top) : DEFAULT_TOP)
+        );
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryStatistics.reset();
+    }
+
+    /**
+     * The threshold of the slow query log, the number of fingerprints and the statistics of the first ones.
+     */
+    public record QueriesDescriptor(long slowThresholdMillis, int fingerprints, List<QueryStatistics.QueryStatistic> queries) {}
+}
@@ -0,0 +1,288 @@
+package com.company.management;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts the statements run against the database by fingerprint, their SQL without its literals and with its lists of
+ * parameters collapsed, and logs the statements slower than a threshold.
+ * <p>
+ * Recording a statement takes no lock and, once its SQL has been seen, does not allocate. An N+1 pattern shows as a
+ * fingerprint run much more often than the others. Past the maximum number of fingerprints, the new ones are counted
+ * together as {@value #OTHER_FINGERPRINT}.
+ */
+public class QueryStatistics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryStatistics.class);
+
+    public static final String OTHER_FINGERPRINT = "other";
+
+    /**
+     * The upper bounds of the buckets of the latency histograms, a last bucket having the slower statements.
+     */
+    private static final long[] BUCKET_BOUNDS = {
+        TimeUnit.MICROSECONDS.toNanos(100),
+        TimeUnit.MICROSECONDS.toNanos(250),
+        TimeUnit.MICROSECONDS.toNanos(500),
+        TimeUnit.MILLISECONDS.toNanos(1),
+        TimeUnit.MICROSECONDS.toNanos(2500),
+        TimeUnit.MILLISECONDS.toNanos(5),
+        TimeUnit.MILLISECONDS.toNanos(10),
+        TimeUnit.MILLISECONDS.toNanos(25),
+        TimeUnit.MILLISECONDS.toNanos(50),
+        TimeUnit.MILLISECONDS.toNanos(100),
+        TimeUnit.MILLISECONDS.toNanos(250),
+        TimeUnit.MILLISECONDS.toNanos(500),
+        TimeUnit.SECONDS.toNanos(1),
+        TimeUnit.MILLISECONDS.toNanos(2500),
+        TimeUnit.SECONDS.toNanos(5),
+        TimeUnit.SECONDS.toNanos(10),
+    };
+
+    private static final int SQL_PER_FINGERPRINT = 10;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$.])\\d+(?:\\.\\d+)?(?![\\w$])");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s?\\?(?:\\s?,\\s?\\?)*\\s?\\)");
+
+    private static final Pattern REPEATED_PARAMETER_LISTS = Pattern.compile("\\(\\?\\)(?:\\s?,\\s?\\(\\?\\))+");
+
+    private final long slowThresholdNanos;
+
+    private final int maxFingerprints;
+
+    private final Map<String, Statistic> bySql = new ConcurrentHashMap<>();
+
+    private final Map<String, Statistic> byFingerprint = new ConcurrentHashMap<>();
+
+    private final Statistic other = new Statistic(OTHER_FINGERPRINT);
+
+    /**
+     * @param slowThreshold the duration over which a statement is logged.
+     * @param maxFingerprints the maximum number of fingerprints counted apart.
+     */
+    public QueryStatistics(Duration slowThreshold, int maxFingerprints) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    /**
+     * Adds a statement to the statistics.
+     *
+     * @param sql the SQL of the statement, with its bind parameters.
+     * @param nanos the duration of the statement.
+     */
+    public void record(String sql, long nanos) {
+        statistic(sql).record(nanos);
+        if (nanos >= slowThresholdNanos) {
+            LOG.warn(
+                "Slow query of {} ms with {} bind parameters: {}",
+                TimeUnit.NANOSECONDS.toMillis(nanos),
+                bindParameters(sql),
+                WHITESPACE.matcher(sql).replaceAll(" ")
+            );
+        }
+    }
+
+    private Statistic statistic(String sql) {
+        Statistic statistic = bySql.get(sql);
+        if (statistic != null) {
+            return statistic;
+        }
+        String fingerprint = fingerprint(sql);
+        statistic = byFingerprint.get(fingerprint);
+        if (statistic == null) {
+            statistic = byFingerprint.size() < maxFingerprints
+                ? byFingerprint.computeIfAbsent(fingerprint, Statistic::new)
+                : other;
+        }
+        if (bySql.size() < maxFingerprints * SQL_PER_FINGERPRINT) {
+            bySql.putIfAbsent(sql, statistic);
+        }
+        return statistic;
+    }
+
+    /**
+     * @param order how the fingerprints are sorted.
+     * @param limit the maximum number of fingerprints.
+     * @return the statistics of the first fingerprints, in the given order.
+     */
+    public List<QueryStatistic> top(Order order, int limit) {
+        return Stream.concat(byFingerprint.values().stream(), Stream.of(other))
+            .map(Statistic::snapshot)
+            .filter(statistic -> statistic.count() > 0)
+            .sorted(order.comparator.reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    public int getFingerprints() {
+        return byFingerprint.size();
+    }
+
+    public long getSlowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    public void reset() {
+        bySql.clear();
+        byFingerprint.clear();
+        other.reset();
+    }
+
+    /**
+     * @param sql the SQL of a statement.
+     * @return the SQL, lower case, without its literals, with single spaces and with its lists of parameters collapsed.
+     */
+    static String fingerprint(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+        fingerprint = PARAMETER_LIST.matcher(fingerprint).replaceAll("(?)");
+        fingerprint = REPEATED_PARAMETER_LISTS.matcher(fingerprint).replaceAll("(?)");
+        return fingerprint.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param sql the SQL of a statement.
+     * @return the number of its bind parameters, the question marks of its string literals not being parameters.
+     */
+    static int bindParameters(String sql) {
+        String parameters = STRING_LITERAL.matcher(sql).replaceAll("");
+        int count = 0;
+        for (int i = 0; i < parameters.length(); i++) {
+            if (parameters.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static double millis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * How the fingerprints are sorted, the largest first.
+     */
+    public enum Order {
+        /**
+         * By total time.
+         */
+        TOTAL(Comparator.comparingDouble(QueryStatistic::totalMillis)),
+        /**
+         * By number of statements.
+         */
+        COUNT(Comparator.comparingLong(QueryStatistic::count)),
+        /**
+         * By mean time.
+         */
+        MEAN(Comparator.comparingDouble(QueryStatistic::meanMillis)),
+        /**
+         * By maximum time.
+         */
+        MAX(Comparator.comparingDouble(QueryStatistic::maxMillis));
+
+        private final Comparator<QueryStatistic> comparator;
+
+        Order(Comparator<QueryStatistic> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    /**
+     * The statistics of a fingerprint, the percentiles being the upper bounds of the buckets of its histogram.
+     */
+    public record QueryStatistic(
+        String fingerprint,
+        long count,
+        double totalMillis,
+        double meanMillis,
+        double maxMillis,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis
+    ) {}
+
+    private static class Statistic {
+
+        private final String fingerprint;
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+
+        Statistic(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        void record(long nanos) {
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && nanos > BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+        }
+
+        void reset() {
+            totalNanos.reset();
+            maxNanos.set(0);
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0);
+            }
+        }
+
+        QueryStatistic snapshot() {
+            long[] counts = new long[buckets.length()];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            long max = maxNanos.get();
+            long sum = totalNanos.sum();
+            return new QueryStatistic(
+                fingerprint,
+                total,
+                millis(sum),
+                total == 0 ? 0 : millis(sum / total),
+                millis(max),
+                millis(percentile(counts, total, 0.50, max)),
+                millis(percentile(counts, total, 0.95, max)),
+                millis(percentile(counts, total, 0.99, max))
+            );
+        }
+
+        private static long percentile(long[] counts, long total, double percentile, long max) {
+            long rank = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return i < BUCKET_BOUNDS.length ? Math.min(BUCKET_BOUNDS[i], max) : max;
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.company.management;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where the time of the current request went: waiting for a database connection, running the statements, mapping the
+ * entities and serializing the response.
+ * <p>
+ * The timings are accumulated in fields of an instance kept by the thread of the request, so recording a statement
+ * does not allocate. They are only recorded between {@link #start(boolean)} and {@link #stop()}, the other threads get
+ * a {@code null} {@link #current()}.
+ */
+public final class RequestTimings {
+
+    /**
+     * The response header giving the timings, see https://www.w3.org/TR/server-timing/.
+     */
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private boolean active;
+
+    private boolean serverTimingHeader;
+
+    private long start;
+
+    private long connectionNanos;
+
+    private long jdbcNanos;
+
+    private int statements;
+
+    private long mappingNanos;
+
+    private int mappingDepth;
+
+    private long serializationNanos;
+
+    private RequestTimings() {}
+
+    /**
+     * Starts recording the timings of the request running on the current thread.
+     *
+     * @param serverTimingHeader whether the timings are sent back in a {@code Server-Timing} header.
+     * @return the timings of the request.
+     */
+    public static RequestTimings start(boolean serverTimingHeader) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            timings = new RequestTimings();
+            CURRENT.set(timings);
+        }
+        timings.active = true;
+        timings.serverTimingHeader = serverTimingHeader;
+        timings.start = System.nanoTime();
+        timings.connectionNanos = 0;
+        timings.jdbcNanos = 0;
+        timings.statements = 0;
+        timings.mappingNanos = 0;
+        timings.mappingDepth = 0;
+        timings.serializationNanos = 0;
+        return timings;
+    }
+
+    /**
+     * @return the timings of the request running on the current thread, or {@code null} if they are not recorded.
+     */
+    public static RequestTimings current() {
+        RequestTimings timings = CURRENT.get();
+        return timings != null && timings.active ? timings : null;
+    }
+
+    public void stop() {
+        active = false;
+    }
+
+    public void addConnectionAcquisition(long nanos) {
+        connectionNanos += nanos;
+    }
+
+    public void addStatement(long nanos) {
+        jdbcNanos += nanos;
+        statements++;
+    }
+
+    /**
+     * Starts timing a mapping, the mappings done by another mapping are part of it.
+     *
+     * @return the start of the mapping, to give to {@link #stopMapping(long)}.
+     */
+    public long startMapping() {
+        return mappingDepth++ == 0 ? System.nanoTime() : 0;
+    }
+
+    public void stopMapping(long mappingStart) {
+        if (--mappingDepth == 0) {
+            mappingNanos += System.nanoTime() - mappingStart;
+        }
+    }
+
+    public void addSerialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    public boolean isServerTimingHeader() {
+        return serverTimingHeader;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - start;
+    }
+
+    public long getConnectionNanos() {
+        return connectionNanos;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getMappingNanos() {
+        return mappingNanos;
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos;
+    }
+
+    /**
+     * @return the value of the {@code Server-Timing} header, the durations being in milliseconds.
+     */
+    public String serverTiming() {
+        StringBuilder header = new StringBuilder(160);
+        metric(header, "db-connection", connectionNanos).append(", ");
+        metric(header, "db", jdbcNanos).append(";desc=\"").append(statements).append(" statements\", ");
+        metric(header, "mapping", mappingNanos).append(", ");
+        metric(header, "serialization", serializationNanos).append(", ");
+        return metric(header, "total", getElapsedNanos()).toString();
+    }
+
+    private static StringBuilder metric(StringBuilder header, String name, long nanos) {
+        double millis = (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+        return header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", millis));
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.management;
+
+/**
+ * The statement running on the current thread, between the hooks of Hibernate and of the {@code JdbcTemplate}.
+ * <p>
+ * Its SQL is given when the statement is prepared, its duration is measured around its execution, then added to the
+ * {@link RequestTimings} of the request and to the {@link QueryStatistics}. The state is kept in fields of an
+ * instance kept by the thread, so a statement does not allocate.
+ * <p>
+ * {@link #stop()} may be called more than once, or for a statement that never started: only a started statement is
+ * recorded, and the SQL is cleared in any case, so that a failed statement does not leave it to the next one.
+ */
+public final class StatementExecution {
+
+    private static final ThreadLocal<StatementExecution> CURRENT = ThreadLocal.withInitial(StatementExecution::new);
+
+    private QueryStatistics statistics;
+
+    private String sql;
+
+    private long start;
+
+    private boolean running;
+
+    private StatementExecution() {}
+
+    /**
+     * Gives the SQL of the next statement run by the current thread.
+     *
+     * @param statistics the statistics the statement is added to.
+     * @param sql the SQL of the statement.
+     */
+    public static void prepare(QueryStatistics statistics, String sql) {
+        StatementExecution execution = CURRENT.get();
+        execution.statistics = statistics;
+        execution.sql = sql;
+    }
+
+    public static void start() {
+        StatementExecution execution = CURRENT.get();
+        execution.start = System.nanoTime();
+        execution.running = true;
+    }
+
+    public static void stop() {
+        StatementExecution execution = CURRENT.get();
+        if (execution.running) {
+            long nanos = System.nanoTime() - execution.start;
+            RequestTimings timings = RequestTimings.current();
+            if (timings != null) {
+                timings.addStatement(nanos);
+            }
+            if (execution.statistics != null && execution.sql != null) {
+                execution.statistics.record(execution.sql, nanos);
+            }
+            execution.running = false;
+        }
+        execution.statistics = null;
+        execution.sql = null;
+    }
+}
@@ -1,7 +1,11 @@
 package com.company.repository;
 
 import com.company.domain.Car;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,9 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CarRepository extends JpaRepository<Car, Long> {}
+public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car> {
+    List<Car> findAllByNameIn(Collection<String> names);
+
+    @Query("select car.version from Car car where car.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
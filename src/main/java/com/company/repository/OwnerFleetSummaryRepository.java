@@ -0,0 +1,34 @@
+package com.company.repository;
+
+import com.company.domain.OwnerFleetSummary;
+import java.math.BigDecimal;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OwnerFleetSummary entity.
+ */
+@Repository
+public interface OwnerFleetSummaryRepository extends JpaRepository<OwnerFleetSummary, Long> {
+    @Query(
+        value = "select summary from OwnerFleetSummary summary join fetch summary.owner",
+        countQuery = "select count(summary) from OwnerFleetSummary summary"
+    )
+    Page<OwnerFleetSummary> findAllWithOwner(Pageable pageable);
+
+    /**
+     * Add to the car count and total value of an owner, creating its summary if needed.
+     * The row is updated in place, so concurrent transactions do not lose each other's changes.
+     */
+    @Modifying
+    @Query(
+        value = "insert into owner_fleet_summary (owner_id, car_count, total_value) values (:ownerId, :carCount, :totalValue) " +
+        "on conflict (owner_id) do update set car_count = owner_fleet_summary.car_count + excluded.car_count, " +
+        "total_value = owner_fleet_summary.total_value + excluded.total_value",
+        nativeQuery = true
+    )
+    void addToSummary(@Param("ownerId") Long ownerId, @Param("carCount") long carCount, @Param("totalValue") BigDecimal totalValue);
+}
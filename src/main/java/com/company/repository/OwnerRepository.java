@@ -1,7 +1,11 @@
 package com.company.repository;
 
 import com.company.domain.Owner;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,20 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OwnerRepository extends JpaRepository<Owner, Long> {}
+public interface OwnerRepository extends JpaRepository<Owner, Long> {
+    List<Owner> findAllByNameIn(Collection<String> names);
+
+    List<IdAndName> findAllProjectedBy();
+
+    @Query("select owner.version from Owner owner where owner.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * The id and name of an owner, for lookups by name.
+     */
+    interface IdAndName {
+        Long getId();
+
+        String getName();
+    }
+}
@@ -0,0 +1,130 @@
+package com.company.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs a CPU-bound {@link PasswordEncoder}, like BCrypt, on a dedicated pool of threads with a bounded queue.
+ * <p>
+ * At most {@code threads} passwords are hashed at once, and at most {@code queueCapacity} wait for a thread: the
+ * others fail right away with a {@link PasswordEncoderBusyException}. So a burst of logins only slows down the
+ * requests that hash a password, instead of using every request thread and CPU. The time waiting for a thread and
+ * the time hashing are recorded by the {@code security.password.encoder.queue} and
+ * {@code security.password.encoder.duration} timers, the waiting passwords by the
+ * {@code security.password.encoder.queued} gauge and the rejections by {@code security.password.encoder.rejected}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    private final Timer encodeQueue;
+
+    private final Timer encodeDuration;
+
+    private final Timer matchesQueue;
+
+    private final Timer matchesDuration;
+
+    private final Counter rejected;
+
+    /**
+     * @param delegate the encoder to run on the pool.
+     * @param threads the number of passwords hashed at once, usually the number of processors.
+     * @param queueCapacity the number of passwords that may wait for a thread.
+     * @param meterRegistry the registry of the queue, duration and rejection metrics.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-encoder-");
+        executor.setDaemon(true);
+        executor.initialize();
+        this.encodeQueue = queueTimer("encode", meterRegistry);
+        this.encodeDuration = durationTimer("encode", meterRegistry);
+        this.matchesQueue = queueTimer("matches", meterRegistry);
+        this.matchesDuration = durationTimer("matches", meterRegistry);
+        Gauge.builder("security.password.encoder.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+            .description("Passwords waiting for a hashing thread")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("security.password.encoder.rejected")
+            .description("Passwords not hashed because too many were waiting")
+            .register(meterRegistry);
+    }
+
+    private static Timer queueTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("security.password.encoder.queue")
+            .description("Time waiting for a password hashing thread")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static Timer durationTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("security.password.encoder.duration")
+            .description("Time hashing a password")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword), encodeQueue, encodeDuration);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword), matchesQueue, matchesDuration);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Supplier<T> operation, Timer queue, Timer duration) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                queue.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return duration.record(operation);
+            });
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new PasswordEncoderBusyException("Too many passwords waiting to be hashed, try again later");
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.company.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Cache of the {@link Jwt}s decoded and validated by another {@link JwtDecoder}.
+ * <p>
+ * A client presents the same token with each request, until it expires: once decoded, it is found by the SHA-256
+ * digest of its value, without verifying its signature and parsing its claims again. A token is kept at most
+ * {@code timeToLive}, and never after its {@code exp} claim, so that the expired tokens go through the decoder and
+ * are rejected by it. The tokens the decoder rejects are not cached. When {@code maximumSize} tokens are cached, the
+ * expired ones are removed, then some others if needed. The hits and misses are counted by the
+ * {@code security.jwt.cache} counter.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final int EVICTED_SHARE = 10;
+
+    private final JwtDecoder delegate;
+
+    private final int maximumSize;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    private final Map<ByteBuffer, CachedJwt> cache = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private record CachedJwt(Jwt jwt, Instant expiresAt) {}
+
+    /**
+     * @param delegate the decoder of the tokens not cached yet.
+     * @param maximumSize the maximum number of cached tokens.
+     * @param timeToLive the maximum time a token is cached, when it expires later.
+     * @param clock the clock compared to the expiry of the cached tokens.
+     * @param meterRegistry the registry of the cache metrics.
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, int maximumSize, Duration timeToLive, Clock clock, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.hits = Counter.builder("security.jwt.cache")
+            .description("Decoded tokens looked up")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("security.jwt.cache")
+            .description("Decoded tokens looked up")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("security.jwt.cache.size", cache, Map::size).description("Decoded tokens cached").register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(null);
+        }
+        ByteBuffer key = digest(token);
+        Instant now = clock.instant();
+        CachedJwt cached = cache.get(key);
+        if (cached != null) {
+            if (now.isBefore(cached.expiresAt())) {
+                hits.increment();
+                return cached.jwt();
+            }
+            cache.remove(key, cached);
+        }
+        misses.increment();
+        Jwt jwt = delegate.decode(token);
+        Instant expiresAt = now.plus(timeToLive);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = jwt.getExpiresAt();
+        }
+        if (now.isBefore(expiresAt)) {
+            if (cache.size() >= maximumSize) {
+                evict(now);
+            }
+            cache.put(key, new CachedJwt(jwt, expiresAt));
+        }
+        return jwt;
+    }
+
+    private void evict(Instant now) {
+        cache.values().removeIf(cached -> !now.isBefore(cached.expiresAt()));
+        int evicted = cache.size() - maximumSize + Math.max(1, maximumSize / EVICTED_SHARE);
+        Iterator<ByteBuffer> keys = cache.keySet().iterator();
+        while (evicted-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
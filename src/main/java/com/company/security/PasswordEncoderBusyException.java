@@ -0,0 +1,13 @@
+package com.company.security;
+
+/**
+ * This exception is thrown when too many passwords are waiting to be hashed or verified.
+ */
+public class PasswordEncoderBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordEncoderBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,278 @@
+package com.company.service;
+
+import com.company.config.ApplicationProperties;
+import com.company.service.event.CarChangedEvent;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Fans the committed {@link CarChangedEvent}s out to the subscribers of the live car stream.
+ * <p>
+ * Writers only add the event to the buffer of each subscriber, they never wait for a client. The buffers are sent
+ * by a small pool of sender threads, one subscriber at a time: an idle subscriber holds no thread. A subscriber that
+ * falls behind gets only the last change of each car, and when more than {@code buffer-size} cars are waiting its
+ * buffer is dropped and it is told to overflow, so that it reads the changes it missed from the delta sync instead.
+ * <p>
+ * A subscriber that takes more than {@code write-timeout} to receive one change is cancelled and its sender thread
+ * interrupted. Until that thread is back, the pool gets one more thread, so that the clients that stopped reading
+ * never hold the threads of the other subscribers.
+ */
+@Service
+public class CarChangeStream {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CarChangeStream.class);
+
+    /**
+     * The receiver of the events of a subscription, called from a sender thread, one event at a time.
+     */
+    public interface Sink {
+        /**
+         * @param event the last change of a car since the previous send.
+         * @throws Exception if the client is gone, which cancels the subscription.
+         */
+        void change(CarChangedEvent event) throws Exception;
+
+        /**
+         * Changes were dropped because the subscriber fell too far behind.
+         *
+         * @throws Exception if the client is gone, which cancels the subscription.
+         */
+        void overflow() throws Exception;
+    }
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolTaskExecutor senders;
+
+    private final ThreadPoolTaskScheduler watchdog;
+
+    private final int bufferSize;
+
+    private final int senderThreads;
+
+    private final long writeTimeoutNanos;
+
+    // Guarded by this, the sender threads stuck in a cancelled subscription
+    private int stuckSenders;
+
+    public CarChangeStream(ApplicationProperties applicationProperties) {
+        ApplicationProperties.CarStream properties = applicationProperties.getCarStream();
+        this.bufferSize = properties.getBufferSize();
+        this.senderThreads = properties.getSenderThreads();
+        this.writeTimeoutNanos = properties.getWriteTimeout().toNanos();
+        this.senders = new ThreadPoolTaskExecutor();
+        senders.setCorePoolSize(senderThreads);
+        senders.setMaxPoolSize(senderThreads);
+        senders.setThreadNamePrefix("car-stream-");
+        senders.setDaemon(true);
+        senders.initialize();
+        this.watchdog = new ThreadPoolTaskScheduler();
+        watchdog.setThreadNamePrefix("car-stream-watchdog-");
+        watchdog.setDaemon(true);
+        watchdog.initialize();
+        watchdog.scheduleWithFixedDelay(this::cancelStuckSubscriptions, properties.getWriteTimeout().dividedBy(2));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdown();
+        senders.shutdown();
+    }
+
+    /**
+     * Subscribe to the changes of the cars committed from now on.
+     *
+     * @param sink the receiver of the changes.
+     * @return the subscription, to cancel when the client is gone.
+     */
+    public Subscription subscribe(Sink sink) {
+        Subscription subscription = new Subscription(sink);
+        subscriptions.add(subscription);
+        LOG.debug("Car stream subscribed, {} subscribers", subscriptions.size());
+        return subscription;
+    }
+
+    /**
+     * @return the number of current subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    private void cancelStuckSubscriptions() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            subscription.cancelIfStuck(now);
+        }
+    }
+
+    /**
+     * Resize the pool for the sender threads that are stuck, growing it before the core size and shrinking it after.
+     */
+    private synchronized void addStuckSenders(int delta) {
+        stuckSenders += delta;
+        int poolSize = senderThreads + stuckSenders;
+        if (delta > 0) {
+            senders.setMaxPoolSize(poolSize);
+            senders.setCorePoolSize(poolSize);
+        } else {
+            senders.setCorePoolSize(poolSize);
+            senders.setMaxPoolSize(poolSize);
+        }
+    }
+
+    /**
+     * A call to the sink of a subscription.
+     */
+    @FunctionalInterface
+    private interface SinkCall {
+        void run() throws Exception;
+    }
+
+    public final class Subscription {
+
+        private final Sink sink;
+
+        // The pending changes by car id, in the order of their first change
+        private final LinkedHashMap<Long, CarChangedEvent> pending = new LinkedHashMap<>();
+
+        private boolean overflowed;
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile boolean cancelled;
+
+        // Guarded by this, the sender thread calling the sink and since when, null when none is or it was given up
+        private Thread writer;
+
+        private long writeStart;
+
+        private Subscription(Sink sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Stop sending the changes, the pending ones are dropped.
+         */
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                subscriptions.remove(this);
+                synchronized (this) {
+                    pending.clear();
+                }
+                LOG.debug("Car stream cancelled, {} subscribers", subscriptions.size());
+            }
+        }
+
+        private void offer(CarChangedEvent event) {
+            synchronized (this) {
+                if (overflowed) {
+                    return;
+                }
+                pending.put(event.id(), event);
+                if (pending.size() > bufferSize) {
+                    pending.clear();
+                    overflowed = true;
+                }
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!cancelled && scheduled.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            List<CarChangedEvent> events;
+            boolean overflow;
+            synchronized (this) {
+                events = new ArrayList<>(pending.values());
+                pending.clear();
+                overflow = overflowed;
+                overflowed = false;
+            }
+            try {
+                if (overflow) {
+                    write(sink::overflow);
+                }
+                for (CarChangedEvent event : events) {
+                    if (cancelled) {
+                        return;
+                    }
+                    write(() -> sink.change(event));
+                }
+            } catch (Exception e) {
+                LOG.debug("Car stream subscriber is gone: {}", e.getMessage());
+                cancel();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // Changes offered while sending found the subscription already scheduled
+            synchronized (this) {
+                if (pending.isEmpty() && !overflowed) {
+                    return;
+                }
+            }
+            schedule();
+        }
+
+        private void write(SinkCall call) throws Exception {
+            synchronized (this) {
+                writer = Thread.currentThread();
+                writeStart = System.nanoTime();
+            }
+            try {
+                call.run();
+            } finally {
+                boolean givenUp;
+                synchronized (this) {
+                    givenUp = writer == null;
+                    writer = null;
+                    if (givenUp) {
+                        // Clear the interrupt of the watchdog before the thread goes back to the pool
+                        Thread.interrupted();
+                    }
+                }
+                if (givenUp) {
+                    addStuckSenders(-1);
+                }
+            }
+        }
+
+        private void cancelIfStuck(long now) {
+            synchronized (this) {
+                if (writer == null || now - writeStart < writeTimeoutNanos) {
+                    return;
+                }
+                writer.interrupt();
+                writer = null;
+                // Before the thread can see it was given up and shrink the pool again
+                addStuckSenders(1);
+            }
+            LOG.debug("Car stream subscriber did not receive a change in time, cancelling it");
+            cancel();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.company.service;
+
+import com.company.service.dto.BulkUpsertResultDTO;
+import com.company.service.dto.CarDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for ingesting large streams of cars, upserted by name.
+ * <p>
+ * Rows are written in chunks, each one in its own transaction. When a chunk fails, its rows are retried
+ * one by one so that a bad row is reported without failing the others.
+ */
+@Service
+public class CarIngestService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CarIngestService.class);
+
+    static final int CHUNK_SIZE = 500;
+
+    private final CarService carService;
+
+    private final ObjectReader carReader;
+
+    private final Validator validator;
+
+    public CarIngestService(CarService carService, ObjectMapper objectMapper, Validator validator) {
+        this.carService = carService;
+        this.carReader = objectMapper.readerFor(CarDTO.class);
+        this.validator = validator;
+    }
+
+    /**
+     * Upsert the cars of a newline delimited JSON stream, one car per line.
+     *
+     * @param reader the stream to read.
+     * @return the outcome of the upsert.
+     * @throws IOException if the stream cannot be read.
+     */
+    public BulkUpsertResultDTO ingestNdjson(Reader reader) throws IOException {
+        LOG.debug("Request to ingest Cars");
+        BufferedReader lines = new BufferedReader(reader);
+        ChunkedUpsert<CarDTO> chunks = new ChunkedUpsert<>(validator, CHUNK_SIZE, carService::upsertByName, new BulkUpsertResultDTO());
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            CarDTO carDTO;
+            try {
+                carDTO = carReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                chunks.reject(lineNumber, "Malformed car: " + e.getOriginalMessage());
+                continue;
+            }
+            if (carDTO.getOwner() != null && carDTO.getOwner().getId() == null) {
+                chunks.reject(lineNumber, "owner.id must not be null");
+            } else {
+                chunks.add(lineNumber, carDTO);
+            }
+        }
+        chunks.flush();
+        LOG.debug("Ingested Cars : {}", chunks.getResult());
+        return chunks.getResult();
+    }
+}
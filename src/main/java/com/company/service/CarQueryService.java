@@ -0,0 +1,164 @@
+package com.company.service;
+
+import com.company.domain.*; // for static metamodels
+import com.company.domain.Car;
+import com.company.repository.CarRepository;
+import com.company.service.criteria.CarCriteria;
+import com.company.service.dto.CarDTO;
+import com.company.service.mapper.CarMapper;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Car} entities in the database.
+ * The main input is a {@link CarCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link CarDTO} which fulfills the criteria.
+ * <p>
+ * The lists and counts are cached by criteria, the filters being compared by value, and the caches are
+ * cleared by {@link CarService} on every write. The lists hold at most {@link #MAX_RESULT_SIZE} cars.
+ * <p>
+ * {@link #clearCaches()} also increments a generation, read before each search: a search that read the cars before
+ * a write was committed does not cache its result once the caches were cleared.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CarQueryService extends QueryService<Car> {
+
+    public static final String CARS_BY_CRITERIA_CACHE = "carsByCriteria";
+
+    public static final String CAR_COUNT_BY_CRITERIA_CACHE = "carCountByCriteria";
+
+    public static final int MAX_RESULT_SIZE = 1000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(CarQueryService.class);
+
+    private final CarRepository carRepository;
+
+    private final CarMapper carMapper;
+
+    private final CacheManager cacheManager;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public CarQueryService(CarRepository carRepository, CarMapper carMapper, CacheManager cacheManager) {
+        this.carRepository = carRepository;
+        this.carMapper = carMapper;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Forget the cached lists and counts, including the ones of the searches still running.
+     */
+    public void clearCaches() {
+        generation.incrementAndGet();
+        Objects.requireNonNull(cacheManager.getCache(CARS_BY_CRITERIA_CACHE)).clear();
+        Objects.requireNonNull(cacheManager.getCache(CAR_COUNT_BY_CRITERIA_CACHE)).clear();
+    }
+
+    /**
+     * Return the first window of {@link CarDTO} which matches the criteria from the database, by id,
+     * of at most {@link #MAX_RESULT_SIZE} entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    public Window<CarDTO> findByCriteria(CarCriteria criteria) {
+        return cached(CARS_BY_CRITERIA_CACHE, criteria, () ->
+            findByCriteria(criteria, ScrollPosition.keyset(), Sort.by(Car_.ID), MAX_RESULT_SIZE)
+        );
+    }
+
+    /**
+     * Return a window of {@link CarDTO} which matches the criteria from the database, following the given keyset position.
+     * This runs a bounded {@code WHERE filters AND (sort keys) > (last keys) ORDER BY sort keys LIMIT n} query.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position the keyset position to scroll from.
+     * @param sort the sort keys, ending with the id.
+     * @param size the maximum number of entities to return.
+     * @return the matching entities.
+     */
+    public Window<CarDTO> findByCriteria(CarCriteria criteria, ScrollPosition position, Sort sort, int size) {
+        LOG.debug("find by criteria : {}, after : {}", criteria, position);
+        final Specification<Car> specification = createSpecification(criteria);
+        return carRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position)).map(carMapper::toDto);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    public long countByCriteria(CarCriteria criteria) {
+        return cached(CAR_COUNT_BY_CRITERIA_CACHE, criteria, () -> {
+            LOG.debug("count by criteria : {}", criteria);
+            final Specification<Car> specification = createSpecification(criteria);
+            return carRepository.count(specification);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String cacheName, CarCriteria criteria, Supplier<T> loader) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName));
+        Object key = criteria == null ? new CarCriteria() : criteria;
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long loadedGeneration = generation.get();
+        T value = loader.get();
+        if (generation.get() == loadedGeneration) {
+            cache.put(key, value);
+            // the caches may have been cleared between the check and the put
+            if (generation.get() != loadedGeneration) {
+                cache.evict(key);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Function to convert {@link CarCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Car> createSpecification(CarCriteria criteria) {
+        Specification<Car> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Car_.id));
+            }
+            if (criteria.getName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getName(), Car_.name));
+            }
+            if (criteria.getModel() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getModel(), Car_.model));
+            }
+            if (criteria.getPrice() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getPrice(), Car_.price));
+            }
+            if (criteria.getOwnerId() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getOwnerId(), root -> root.get(Car_.owner).get(Owner_.id))
+                );
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,424 @@
+package com.company.service;
+
+import com.company.service.event.CarChangedEvent;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory n-gram index over the name and model of the cars, for typeahead search.
+ * <p>
+ * Names and models are lower-cased, stripped of their accents and split into words. Each word is indexed by its
+ * one and two character prefixes and by all its trigrams, so a query word matches the words it starts when it is
+ * shorter than three characters, and the words it is part of otherwise. The posting lists are sorted {@code int}
+ * arrays of document numbers: an update indexes a new document and leaves a tombstone, and the index is compacted
+ * when the tombstones outnumber the live documents.
+ * <p>
+ * The index is built from the database when the application is ready, rebuilt every hour, and kept up to date
+ * with the {@link CarChangedEvent} of committed transactions. Until the first build succeeds, searches find nothing
+ * and the build is retried every minute.
+ */
+@Service
+public class CarSearchIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CarSearchIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final char PREFIX_MARK = '^';
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private final CarService carService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Guarded by lock
+    private Index index = new Index();
+
+    // Guarded by lock, the changes to replay on the index being rebuilt
+    private List<CarChangedEvent> pendingChanges;
+
+    private volatile boolean built;
+
+    public CarSearchIndex(CarService carService) {
+        this.carService = carService;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Cars changed without going through {@link CarService} are picked up by a full rebuild.
+     * <p>
+     * This is scheduled to get fired every hour, at half past.
+     */
+    @Scheduled(cron = "0 30 * * * ?")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Retry the build that failed when the application got ready, unless a build is running.
+     */
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void retryFailedBuild() {
+        if (!built && rebuildLock.tryLock()) {
+            try {
+                if (!built) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return whether the index was built, searches finding nothing before.
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Build a new index from all the cars of the database, then swap it with the current one.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Index rebuilt = new Index();
+            try {
+                carService.exportAll(car -> rebuilt.put(car.getId(), car.getName(), car.getModel()));
+            } catch (RuntimeException e) {
+                LOG.warn("Could not build the car search index: {}", e.getMessage());
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(rebuilt::apply);
+                pendingChanges = null;
+                index = rebuilt;
+                built = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            LOG.info("Indexed {} cars for search in {} ms", rebuilt.liveCount(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            if (index.needsCompaction()) {
+                index = index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search the cars whose name or model contain all the words of the query.
+     * <p>
+     * Matches in the name rank before matches in the model, and matches at the start of a word before matches
+     * inside it; ties are broken by the shortest name, then by the oldest car.
+     *
+     * @param query the words to search.
+     * @param limit the maximum number of ids to return.
+     * @return the ids of the matching cars, best first, none until the index is built.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> words = words(query);
+        if (!built || words.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(words, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the distinct normalized words of a text, in order.
+     */
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATOR.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    /**
+     * Add the posting keys of an indexed word.
+     */
+    private static void indexKeys(String word, Set<String> keys) {
+        keys.add(PREFIX_MARK + word.substring(0, 1));
+        if (word.length() > 1) {
+            keys.add(PREFIX_MARK + word.substring(0, 2));
+        }
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            keys.add(word.substring(i, i + GRAM_LENGTH));
+        }
+    }
+
+    /**
+     * @return the posting keys that a document must all have to match a query word.
+     */
+    private static List<String> queryKeys(String word) {
+        if (word.length() < GRAM_LENGTH) {
+            return List.of(PREFIX_MARK + word);
+        }
+        List<String> keys = new ArrayList<>(word.length() - GRAM_LENGTH + 1);
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            keys.add(word.substring(i, i + GRAM_LENGTH));
+        }
+        return keys;
+    }
+
+    /**
+     * A growable sorted list of document numbers.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+
+        private int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+
+    /**
+     * The documents and posting lists, only accessed under the lock of the enclosing index.
+     */
+    private static final class Index {
+
+        private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+
+        private final Map<String, Postings> postings = new HashMap<>();
+
+        private final Map<Long, Integer> docsByCarId = new HashMap<>();
+
+        // Car id of each document, 0 for a tombstone
+        private long[] carIds = new long[1024];
+
+        // Normalized words of the name and model of each document, joined by single spaces
+        private String[] names = new String[1024];
+
+        private String[] models = new String[1024];
+
+        private int size;
+
+        private int tombstones;
+
+        void apply(CarChangedEvent event) {
+            if (event.type() == CarChangedEvent.Type.DELETED) {
+                remove(event.id());
+            } else {
+                put(event.id(), event.car().getName(), event.car().getModel());
+            }
+        }
+
+        void put(long carId, String name, String model) {
+            remove(carId);
+            List<String> nameWords = words(name);
+            List<String> modelWords = words(model);
+            int doc = size++;
+            if (doc == carIds.length) {
+                carIds = Arrays.copyOf(carIds, doc * 2);
+                names = Arrays.copyOf(names, doc * 2);
+                models = Arrays.copyOf(models, doc * 2);
+            }
+            carIds[doc] = carId;
+            names[doc] = String.join(" ", nameWords);
+            models[doc] = String.join(" ", modelWords);
+            docsByCarId.put(carId, doc);
+            Set<String> keys = new LinkedHashSet<>();
+            nameWords.forEach(word -> indexKeys(word, keys));
+            modelWords.forEach(word -> indexKeys(word, keys));
+            for (String key : keys) {
+                postings.computeIfAbsent(key, k -> new Postings()).add(doc);
+            }
+        }
+
+        void remove(long carId) {
+            Integer doc = docsByCarId.remove(carId);
+            if (doc != null) {
+                carIds[doc] = 0;
+                names[doc] = null;
+                models[doc] = null;
+                tombstones++;
+            }
+        }
+
+        int liveCount() {
+            return size - tombstones;
+        }
+
+        boolean needsCompaction() {
+            return tombstones >= MIN_COMPACTION_TOMBSTONES && tombstones > liveCount();
+        }
+
+        Index compact() {
+            Index compacted = new Index();
+            for (int doc = 0; doc < size; doc++) {
+                if (carIds[doc] != 0) {
+                    compacted.put(carIds[doc], names[doc], models[doc]);
+                }
+            }
+            return compacted;
+        }
+
+        List<Long> search(List<String> words, int limit) {
+            int[] candidates = null;
+            int count = 0;
+            for (String word : words) {
+                for (String key : queryKeys(word)) {
+                    Postings list = postings.get(key);
+                    if (list == null) {
+                        return List.of();
+                    }
+                    if (candidates == null) {
+                        candidates = Arrays.copyOf(list.docs, list.size);
+                        count = list.size;
+                    } else {
+                        count = intersect(candidates, count, list);
+                    }
+                    if (count == 0) {
+                        return List.of();
+                    }
+                }
+            }
+            // Rank key: score, then shortest name, then lowest document number
+            long[] ranked = new long[count];
+            int matches = 0;
+            for (int i = 0; i < count; i++) {
+                int doc = candidates[i];
+                if (carIds[doc] == 0) {
+                    continue;
+                }
+                int score = score(words, names[doc], models[doc]);
+                if (score > 0) {
+                    long shortness = 0xFFFF - Math.min(names[doc].length(), 0xFFFF);
+                    ranked[matches++] = ((long) score << 48) | (shortness << 32) | (Integer.MAX_VALUE - doc);
+                }
+            }
+            Arrays.sort(ranked, 0, matches);
+            List<Long> ids = new ArrayList<>(Math.min(limit, matches));
+            for (int i = matches - 1; i >= 0 && ids.size() < limit; i--) {
+                ids.add(carIds[Integer.MAX_VALUE - (int) ranked[i]]);
+            }
+            return ids;
+        }
+
+        /**
+         * Keep in {@code candidates} the documents that are also in {@code list}, both being sorted.
+         *
+         * @return the number of documents kept.
+         */
+        private static int intersect(int[] candidates, int count, Postings list) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < count && j < list.size; i++) {
+                int doc = candidates[i];
+                while (j < list.size && list.docs[j] < doc) {
+                    j++;
+                }
+                if (j < list.size && list.docs[j] == doc) {
+                    candidates[kept++] = doc;
+                }
+            }
+            return kept;
+        }
+
+        /**
+         * @return the score of a document, 0 if one of the words is not found in it.
+         */
+        private static int score(List<String> words, String name, String model) {
+            int score = 0;
+            for (String word : words) {
+                int wordScore = Math.max(4 * matchScore(name, word), matchScore(model, word));
+                if (wordScore == 0) {
+                    return 0;
+                }
+                score += wordScore;
+            }
+            return score;
+        }
+
+        /**
+         * @return 2 if a word of the text starts with the query word, 1 if the text contains it, 0 otherwise.
+         */
+        private static int matchScore(String text, String word) {
+            int index = text.indexOf(word);
+            if (index < 0) {
+                return 0;
+            }
+            for (; index >= 0; index = text.indexOf(word, index + 1)) {
+                if (index == 0 || text.charAt(index - 1) == ' ') {
+                    return 2;
+                }
+            }
+            return 1;
+        }
+    }
+}
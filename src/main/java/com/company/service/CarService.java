@@ -1,17 +1,38 @@
 package com.company.service;
 
 import com.company.domain.Car;
+import com.company.domain.Owner;
 import com.company.repository.CarRepository;
 import com.company.service.dto.CarDTO;
+import com.company.service.dto.ChangesDTO;
+import com.company.service.dto.OwnerDTO;
+import com.company.service.event.CarChangedEvent;
 import com.company.service.mapper.CarMapper;
-import java.util.LinkedList;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import java.math.BigDecimal;
+import java.sql.Types;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.Cache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service Implementation for managing {@link com.company.domain.Car}.
@@ -22,13 +43,74 @@ public class CarService {
 
     private static final Logger LOG = LoggerFactory.getLogger(CarService.class);
 
+    private static final String EXPORT_SQL = "select id, name, model, price, owner_id, version from car order by id";
+
+    private static final RowMapper<CarDTO> CAR_ROW_MAPPER = (rs, rowNum) -> {
+        CarDTO carDTO = new CarDTO();
+        carDTO.setId(rs.getLong(1));
+        carDTO.setName(rs.getString(2));
+        carDTO.setModel(rs.getString(3));
+        carDTO.setPrice(rs.getBigDecimal(4));
+        carDTO.setOwner(ownerIdDTO(rs.getObject(5, Long.class)));
+        carDTO.setVersion(rs.getLong(6));
+        return carDTO;
+    };
+
+    // The row is locked by the subquery, so that it gives the owner and price replaced by the update
+    private static final String UPDATE_FROM_PREVIOUS = " from (select owner_id, price from car where id = :id for update) previous";
+
+    private static final String UPDATE_RETURNING =
+        " returning c.id, c.name, c.model, c.price, c.owner_id, c.version, previous.owner_id, previous.price";
+
+    private static final ChangeFeed<CarDTO> CHANGE_FEED = new ChangeFeed<>(
+        "car",
+        "id, name, model, price, owner_id, version",
+        CAR_ROW_MAPPER
+    );
+
+    private static final RowMapper<UpdatedCar> UPDATED_CAR_ROW_MAPPER = (rs, rowNum) ->
+        new UpdatedCar(CAR_ROW_MAPPER.mapRow(rs, rowNum), rs.getObject(7, Long.class), rs.getBigDecimal(8));
+
+    private static final String OWNER_CARS_ROLE = Owner.class.getName() + ".cars";
+
     private final CarRepository carRepository;
 
     private final CarMapper carMapper;
 
-    public CarService(CarRepository carRepository, CarMapper carMapper) {
+    private final EntityManager entityManager;
+
+    private final CarQueryService carQueryService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final OwnerFleetSummaryService ownerFleetSummaryService;
+
+    private final JdbcClient jdbcClient;
+
+    private final JdbcClient exportJdbcClient;
+
+    private final Validator validator;
+
+    public CarService(
+        CarRepository carRepository,
+        CarMapper carMapper,
+        EntityManager entityManager,
+        CarQueryService carQueryService,
+        ApplicationEventPublisher eventPublisher,
+        OwnerFleetSummaryService ownerFleetSummaryService,
+        JdbcClient jdbcClient,
+        @Qualifier("exportJdbcClient") JdbcClient exportJdbcClient,
+        Validator validator
+    ) {
         this.carRepository = carRepository;
         this.carMapper = carMapper;
+        this.entityManager = entityManager;
+        this.carQueryService = carQueryService;
+        this.eventPublisher = eventPublisher;
+        this.ownerFleetSummaryService = ownerFleetSummaryService;
+        this.jdbcClient = jdbcClient;
+        this.exportJdbcClient = exportJdbcClient;
+        this.validator = validator;
     }
 
     /**
@@ -40,52 +122,135 @@ public class CarService {
     public CarDTO save(CarDTO carDTO) {
         LOG.debug("Request to save Car : {}", carDTO);
         Car car = carMapper.toEntity(carDTO);
+        car.setOwner(ownerReference(carDTO.getOwner()));
         car = carRepository.save(car);
-        return carMapper.toDto(car);
+        ownerFleetSummaryService.addCar(car);
+        clearCarCaches();
+        CarDTO result = carMapper.toDto(car);
+        eventPublisher.publishEvent(CarChangedEvent.created(result));
+        return result;
     }
 
     /**
-     * Update a car.
+     * Update a car, with a single {@code UPDATE} statement that does not load it.
+     * <p>
+     * The update fails with an {@link ObjectOptimisticLockingFailureException} if the version of the DTO is not the
+     * current one; without a version, which the REST API only allows with {@code If-Match: *}, the car is overwritten.
      *
      * @param carDTO the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, with its new version, or empty if there is no car with its id.
      */
-    public CarDTO update(CarDTO carDTO) {
+    public Optional<CarDTO> update(CarDTO carDTO) {
         LOG.debug("Request to update Car : {}", carDTO);
-        Car car = carMapper.toEntity(carDTO);
-        car = carRepository.save(car);
-        return carMapper.toDto(car);
+        ColumnUpdate<CarDTO> columns = new ColumnUpdate<>(validator, CarDTO.class)
+            .set("name", carDTO.getName())
+            .set("model", carDTO.getModel())
+            .set("price", carDTO.getPrice())
+            .set("owner_id", new SqlParameterValue(Types.BIGINT, carDTO.getOwner() == null ? null : carDTO.getOwner().getId()));
+        return updateColumns(carDTO.getId(), carDTO.getVersion(), columns);
     }
 
     /**
-     * Partially update a car.
+     * Partially update a car, with a single {@code UPDATE} statement of the columns of the non-null fields of the
+     * DTO, which does not load it.
+     * <p>
+     * The update fails with an {@link ObjectOptimisticLockingFailureException} if the DTO has a version that is not
+     * the current one.
      *
      * @param carDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, with its new version, or empty if there is no car with its id.
+     * @throws jakarta.validation.ConstraintViolationException if one of the fields is not valid.
      */
     public Optional<CarDTO> partialUpdate(CarDTO carDTO) {
         LOG.debug("Request to partially update Car : {}", carDTO);
+        ColumnUpdate<CarDTO> columns = new ColumnUpdate<>(validator, CarDTO.class)
+            .setIfPresent("name", carDTO.getName())
+            .setIfPresent("model", carDTO.getModel())
+            .setIfPresent("price", carDTO.getPrice())
+            .setIfPresent("owner", carDTO.getOwner(), "owner_id", carDTO.getOwner() == null ? null : carDTO.getOwner().getId());
+        columns.validate();
+        return updateColumns(carDTO.getId(), carDTO.getVersion(), columns);
+    }
 
-        return carRepository
-            .findById(carDTO.getId())
-            .map(existingCar -> {
-                carMapper.partialUpdate(existingCar, carDTO);
+    /**
+     * Insert or update cars by their unique name, in a single transaction.
+     * <p>
+     * The existing cars are loaded with one query, then the inserts and updates are sent in JDBC batches
+     * when the transaction commits.
+     *
+     * @param carDTOs the cars to upsert, their ids are ignored.
+     * @return the number of created cars, the other ones being updated.
+     */
+    public int upsertByName(List<CarDTO> carDTOs) {
+        LOG.debug("Request to upsert {} Cars by name", carDTOs.size());
+        Map<String, Car> cars = carRepository
+            .findAllByNameIn(carDTOs.stream().map(CarDTO::getName).toList())
+            .stream()
+            .collect(Collectors.toMap(Car::getName, Function.identity()));
+        int created = 0;
+        for (CarDTO carDTO : carDTOs) {
+            Car car = cars.get(carDTO.getName());
+            boolean isNew = car == null;
+            if (isNew) {
+                car = new Car().name(carDTO.getName());
+                cars.put(car.getName(), car);
+                created++;
+            } else {
+                ownerFleetSummaryService.removeCar(car);
+            }
+            car.model(carDTO.getModel()).price(carDTO.getPrice());
+            car.setOwner(ownerReference(carDTO.getOwner()));
+            if (car.getId() == null) {
+                carRepository.save(car);
+            }
+            ownerFleetSummaryService.addCar(car);
+            CarDTO result = carMapper.toDto(car);
+            eventPublisher.publishEvent(isNew ? CarChangedEvent.created(result) : CarChangedEvent.updated(result));
+        }
+        clearCarCaches();
+        return created;
+    }
 
-                return existingCar;
-            })
-            .map(carRepository::save)
-            .map(carMapper::toDto);
+    /**
+     * Export all the cars in id order, handing them one by one to the consumer.
+     * <p>
+     * The rows are read through a database cursor by the {@code exportJdbcClient}, a thousand at a time, and mapped
+     * straight to DTOs: no entity is managed, so memory use does not depend on the number of cars.
+     *
+     * @param consumer the consumer of the exported cars.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<CarDTO> consumer) {
+        LOG.debug("Request to export all Cars");
+        try (Stream<CarDTO> cars = exportJdbcClient.sql(EXPORT_SQL).query(CAR_ROW_MAPPER).stream()) {
+            cars.forEach(consumer);
+        }
     }
 
     /**
-     * Get all the cars.
+     * Get the cars created, updated or deleted after a revision, in the order of their revisions.
      *
-     * @return the list of entities.
+     * @param revision the revision to read the changes after.
+     * @param id the id to read the changes of the revision after, {@code null} to start with the next revision.
+     * @param limit the maximum number of changes.
+     * @return the changes.
      */
     @Transactional(readOnly = true)
-    public List<CarDTO> findAll() {
-        LOG.debug("Request to get all Cars");
-        return carRepository.findAll().stream().map(carMapper::toDto).collect(Collectors.toCollection(LinkedList::new));
+    public ChangesDTO<CarDTO> findChanges(long revision, Long id, int limit) {
+        LOG.debug("Request to get the changes of Cars after revision : {}, id : {}", revision, id);
+        return CHANGE_FEED.find(jdbcClient, revision, id, limit);
+    }
+
+    /**
+     * Get the version of a car, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of Car : {}", id);
+        return carRepository.findVersionById(id);
     }
 
     /**
@@ -107,6 +272,124 @@ public class CarService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Car : {}", id);
-        carRepository.deleteById(id);
+        carRepository
+            .findById(id)
+            .ifPresent(car -> {
+                ownerFleetSummaryService.removeCar(car);
+                carRepository.delete(car);
+                clearCarCaches();
+                eventPublisher.publishEvent(CarChangedEvent.deleted(id));
+            });
+    }
+
+    /**
+     * A reference to the owner of a car. The owner mapped from the DTO cannot be used, as Hibernate takes an owner
+     * without a version for a new one.
+     */
+    private Owner ownerReference(OwnerDTO ownerDTO) {
+        return ownerDTO == null ? null : entityManager.getReference(Owner.class, ownerDTO.getId());
+    }
+
+    /**
+     * Update the columns of a car with a single statement, which also returns its previous owner and price to keep
+     * the owner fleet summaries up to date. As the statement bypasses Hibernate, the car is evicted from the
+     * persistence context and the second-level cache.
+     */
+    private Optional<CarDTO> updateColumns(Long id, Long version, ColumnUpdate<CarDTO> columns) {
+        StringBuilder sql = new StringBuilder("update car c set ");
+        if (columns.isEmpty()) {
+            sql.append("version = c.version");
+        } else {
+            sql.append(columns.assignments()).append(", version = c.version + 1");
+        }
+        sql.append(UPDATE_FROM_PREVIOUS).append(" where c.id = :id");
+        if (version != null) {
+            sql.append(" and c.version = :version");
+        }
+        sql.append(UPDATE_RETURNING);
+        Optional<UpdatedCar> updatedCar = columns
+            .bind(jdbcClient.sql(sql.toString()))
+            .param("id", id)
+            .param("version", version)
+            .query(UPDATED_CAR_ROW_MAPPER)
+            .optional();
+        if (updatedCar.isEmpty()) {
+            if (carRepository.findVersionById(id).isPresent()) {
+                throw new ObjectOptimisticLockingFailureException(Car.class, id);
+            }
+            return Optional.empty();
+        }
+        CarDTO result = updatedCar.orElseThrow().car();
+        Long previousOwnerId = updatedCar.orElseThrow().previousOwnerId();
+        BigDecimal previousPrice = updatedCar.orElseThrow().previousPrice();
+        Long ownerId = result.getOwner() == null ? null : result.getOwner().getId();
+        if (!Objects.equals(previousOwnerId, ownerId) || previousPrice.compareTo(result.getPrice()) != 0) {
+            ownerFleetSummaryService.removeCar(previousOwnerId, previousPrice);
+            ownerFleetSummaryService.addCar(ownerId, result.getPrice());
+        }
+        evictCar(id, previousOwnerId, ownerId);
+        clearCarCaches();
+        eventPublisher.publishEvent(CarChangedEvent.updated(result));
+        return Optional.of(result);
     }
+
+    private static OwnerDTO ownerIdDTO(Long ownerId) {
+        if (ownerId == null) {
+            return null;
+        }
+        OwnerDTO ownerDTO = new OwnerDTO();
+        ownerDTO.setId(ownerId);
+        return ownerDTO;
+    }
+
+    /**
+     * Evict a car updated in SQL from the persistence context, and from the second-level cache with the cars of
+     * its previous and new owners, now and once the transaction is committed.
+     */
+    private void evictCar(Long id, Long previousOwnerId, Long ownerId) {
+        entityManager.detach(entityManager.getReference(Car.class, id));
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        Runnable eviction = () -> {
+            cache.evictEntityData(Car.class, id);
+            Stream.of(previousOwnerId, ownerId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(evictedOwnerId -> cache.evictCollectionData(OWNER_CARS_ROLE, evictedOwnerId));
+        };
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        eviction.run();
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Clear the search caches of {@link CarQueryService}, now and once the transaction is committed, as a search
+     * running in between would cache the state before the write again. A search still running after the commit does
+     * not cache its result, see {@link CarQueryService#clearCaches()}.
+     */
+    private void clearCarCaches() {
+        carQueryService.clearCaches();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        carQueryService.clearCaches();
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * An updated car, with its previous owner and price.
+     */
+    private record UpdatedCar(CarDTO car, Long previousOwnerId, BigDecimal previousPrice) {}
 }
@@ -0,0 +1,120 @@
+package com.company.service;
+
+import com.company.service.dto.ChangesDTO;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Reads the changes of the rows of a table after a revision, from their {@code revision} column and the
+ * {@code change_tombstone} table.
+ * <p>
+ * The revision of a row is the id of the last transaction that wrote it. Transactions do not commit in the order of
+ * their ids, so only the revisions below the oldest transaction still running, the {@code xmin} of the current
+ * snapshot, are read: a change is never skipped because an older transaction committed after it was read. Changes
+ * are read in {@code (revision, id)} order, so that a revision written by a large transaction can span several
+ * reads.
+ *
+ * @param <T> the type of the DTO of the rows.
+ */
+final class ChangeFeed<T extends Serializable> {
+
+    private static final String HORIZON_SQL = "select pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    private static final String TOMBSTONES_SQL =
+        "select entity_id, revision from change_tombstone " +
+        "where entity_type = :table and (entity_type, revision, entity_id) > (:table, :revision, :id) and revision < :horizon " +
+        "order by entity_type, revision, entity_id limit :limit";
+
+    private final String table;
+
+    private final String rowsSql;
+
+    private final RowMapper<Change<T>> rowMapper;
+
+    /**
+     * @param table the name of the table.
+     * @param columns the columns read by the row mapper, starting with {@code id}.
+     * @param rowMapper the mapper of the rows to DTOs.
+     */
+    ChangeFeed(String table, String columns, RowMapper<T> rowMapper) {
+        this.table = table;
+        this.rowsSql =
+            "select " +
+            columns +
+            ", revision from " +
+            table +
+            " where (revision, id) > (:revision, :id) and revision < :horizon order by revision, id limit :limit";
+        this.rowMapper = (rs, rowNum) -> new Change<>(rs.getLong("revision"), rs.getLong("id"), rowMapper.mapRow(rs, rowNum));
+    }
+
+    /**
+     * Read the changes after a position.
+     *
+     * @param jdbcClient the client of the database.
+     * @param revision the revision to read the changes after.
+     * @param id the id to read the changes of the revision after, {@code null} to read the changes of the next
+     * revisions only.
+     * @param limit the maximum number of changes to read.
+     * @return the changes.
+     */
+    ChangesDTO<T> find(JdbcClient jdbcClient, long revision, Long id, int limit) {
+        long horizon = jdbcClient.sql(HORIZON_SQL).query(Long.class).single();
+        long afterId = id == null ? Long.MAX_VALUE : id;
+        List<Change<T>> rows = jdbcClient
+            .sql(rowsSql)
+            .param("revision", revision)
+            .param("id", afterId)
+            .param("horizon", horizon)
+            .param("limit", limit + 1)
+            .query(rowMapper)
+            .list();
+        List<Change<T>> tombstones = jdbcClient
+            .sql(TOMBSTONES_SQL)
+            .param("table", table)
+            .param("revision", revision)
+            .param("id", afterId)
+            .param("horizon", horizon)
+            .param("limit", limit + 1)
+            .query((rs, rowNum) -> new Change<T>(rs.getLong(2), rs.getLong(1), null))
+            .list();
+
+        ChangesDTO<T> changes = new ChangesDTO<>();
+        List<T> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        Change<T> last = null;
+        int r = 0;
+        int t = 0;
+        while (changed.size() + deleted.size() < limit && (r < rows.size() || t < tombstones.size())) {
+            boolean nextIsRow = t == tombstones.size() || (r < rows.size() && rows.get(r).isBefore(tombstones.get(t)));
+            last = nextIsRow ? rows.get(r++) : tombstones.get(t++);
+            if (nextIsRow) {
+                changed.add(last.row());
+            } else {
+                deleted.add(last.id());
+            }
+        }
+        changes.setChanged(changed);
+        changes.setDeleted(deleted);
+        changes.setHasMore(r < rows.size() || t < tombstones.size());
+        if (changes.isHasMore()) {
+            changes.setNextRevision(last.revision());
+            changes.setNextId(last.id());
+        } else {
+            // Every change below the horizon was read
+            changes.setNextRevision(Math.max(revision, horizon - 1));
+        }
+        return changes;
+    }
+
+    /**
+     * A changed row, or a deleted one without DTO.
+     */
+    private record Change<T>(long revision, long id, T row) {
+        boolean isBefore(Change<T> other) {
+            return revision < other.revision || (revision == other.revision && id < other.id);
+        }
+    }
+}
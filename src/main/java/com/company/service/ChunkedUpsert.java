@@ -0,0 +1,116 @@
+package com.company.service;
+
+import com.company.service.dto.BulkUpsertResultDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+
+/**
+ * Writes validated rows in chunks through an upsert function, which is expected to run each call in its own transaction.
+ * <p>
+ * When a chunk fails, its rows are retried one by one so that a bad row is reported with its line number
+ * without failing the others. The counters are kept in a {@link BulkUpsertResultDTO}.
+ *
+ * @param <T> the type of the rows.
+ */
+final class ChunkedUpsert<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChunkedUpsert.class);
+
+    private final Validator validator;
+
+    private final int chunkSize;
+
+    private final ToIntFunction<List<T>> upsert;
+
+    private final BulkUpsertResultDTO result;
+
+    private final List<T> rows;
+
+    private final List<Long> lines;
+
+    /**
+     * @param validator the validator of the rows.
+     * @param chunkSize the number of rows written in each call of the upsert function.
+     * @param upsert the upsert function, returning the number of created rows.
+     * @param result the counters to update.
+     */
+    ChunkedUpsert(Validator validator, int chunkSize, ToIntFunction<List<T>> upsert, BulkUpsertResultDTO result) {
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.upsert = upsert;
+        this.result = result;
+        this.rows = new ArrayList<>(chunkSize);
+        this.lines = new ArrayList<>(chunkSize);
+    }
+
+    BulkUpsertResultDTO getResult() {
+        return result;
+    }
+
+    /**
+     * Count a received row, which is written with the next chunk if it is valid.
+     *
+     * @param line the line number of the row.
+     * @param row the row.
+     */
+    void add(long line, T row) {
+        result.setReceived(result.getReceived() + 1);
+        Set<ConstraintViolation<T>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<T> violation = violations.iterator().next();
+            result.addError(line, violation.getPropertyPath() + " " + violation.getMessage());
+            return;
+        }
+        rows.add(row);
+        lines.add(line);
+        if (rows.size() == chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Count a received row that could not be read.
+     *
+     * @param line the line number of the row.
+     * @param message the cause of the failure.
+     */
+    void reject(long line, String message) {
+        result.setReceived(result.getReceived() + 1);
+        result.addError(line, message);
+    }
+
+    /**
+     * Write the pending rows.
+     */
+    void flush() {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            count(upsert.applyAsInt(rows), rows.size());
+        } catch (RuntimeException chunkFailure) {
+            LOG.debug("Chunk of {} rows failed, retrying row by row", rows.size(), chunkFailure);
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    count(upsert.applyAsInt(List.of(rows.get(i))), 1);
+                } catch (RuntimeException rowFailure) {
+                    result.addError(lines.get(i), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+        rows.clear();
+        lines.clear();
+    }
+
+    private void count(int created, int written) {
+        result.setCreated(result.getCreated() + created);
+        result.setUpdated(result.getUpdated() + written - created);
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * The columns set by an {@code UPDATE} statement, taken from the properties of a DTO.
+ * <p>
+ * For a partial update, only the non-null properties are set, each one being validated against the constraints
+ * of the DTO as it is added: the entity is not loaded, so it cannot be validated as a whole. The columns are bound
+ * as named parameters of the same name.
+ *
+ * @param <T> the type of the DTO.
+ */
+final class ColumnUpdate<T> {
+
+    private final Validator validator;
+
+    private final Class<T> dtoClass;
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    private final Set<ConstraintViolation<T>> violations = new LinkedHashSet<>();
+
+    /**
+     * @param validator the validator of the properties.
+     * @param dtoClass the class of the DTO, which declares the constraints.
+     */
+    ColumnUpdate(Validator validator, Class<T> dtoClass) {
+        this.validator = validator;
+        this.dtoClass = dtoClass;
+    }
+
+    /**
+     * Set a column to a value that was already validated with the whole DTO, even {@code null}.
+     *
+     * @param column the name of the column.
+     * @param value the value, which can be a {@link org.springframework.jdbc.core.SqlParameterValue} to type a null.
+     * @return this update.
+     */
+    ColumnUpdate<T> set(String column, Object value) {
+        values.put(column, value);
+        return this;
+    }
+
+    /**
+     * Set the column of the same name as a property to its value, unless it is {@code null}.
+     *
+     * @param property the name of the property and of its column.
+     * @param value the value of the property.
+     * @return this update.
+     */
+    ColumnUpdate<T> setIfPresent(String property, Object value) {
+        return setIfPresent(property, value, property, value);
+    }
+
+    /**
+     * Set a column from the value of a property, unless it is {@code null}.
+     *
+     * @param property the name of the property.
+     * @param value the value of the property, which is validated.
+     * @param column the name of the column.
+     * @param columnValue the value of the column.
+     * @return this update.
+     */
+    ColumnUpdate<T> setIfPresent(String property, Object value, String column, Object columnValue) {
+        if (value != null) {
+            violations.addAll(validator.validateValue(dtoClass, property, value));
+            values.put(column, columnValue);
+        }
+        return this;
+    }
+
+    /**
+     * @throws ConstraintViolationException if one of the properties is not valid.
+     */
+    void validate() {
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * @return the assignments of the columns, like {@code name = :name, price = :price}.
+     */
+    String assignments() {
+        return values.keySet().stream().map(column -> column + " = :" + column).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Bind the values of the columns to a statement.
+     *
+     * @param statement the statement.
+     * @return the statement.
+     */
+    JdbcClient.StatementSpec bind(JdbcClient.StatementSpec statement) {
+        values.forEach(statement::param);
+        return statement;
+    }
+}
@@ -0,0 +1,400 @@
+package com.company.service;
+
+import com.company.repository.OwnerRepository;
+import com.company.security.AuthoritiesConstants;
+import com.company.security.SecurityUtils;
+import com.company.service.dto.BulkUpsertResultDTO;
+import com.company.service.dto.CarDTO;
+import com.company.service.dto.ImportJobDTO;
+import com.company.service.dto.OwnerDTO;
+import jakarta.validation.Validator;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Service for importing cars and owners from CSV files in the background.
+ * <p>
+ * The uploaded file is spooled to a temporary file, then read as a stream on the {@code importJobExecutor}: the rows are
+ * upserted by name in chunks, each one in its own transaction, like the bulk ingest of {@link CarIngestService}.
+ * The files use the {@code ;} separator and the headers of the Liquibase fake-data files; the owner of a car is
+ * given by its name, resolved through a lookup table loaded when the job starts.
+ * <p>
+ * Jobs are kept in memory, and their progress is published after each chunk. Users only see the jobs they started,
+ * the admins see all of them.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportJobService.class);
+
+    private static final char SEPARATOR = ';';
+
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    private final Map<String, ImportJobDTO> jobs = new ConcurrentHashMap<>();
+
+    private final CarService carService;
+
+    private final OwnerService ownerService;
+
+    private final OwnerRepository ownerRepository;
+
+    private final Validator validator;
+
+    private final Executor importJobExecutor;
+
+    public ImportJobService(
+        CarService carService,
+        OwnerService ownerService,
+        OwnerRepository ownerRepository,
+        Validator validator,
+        @Qualifier("importJobExecutor") Executor importJobExecutor
+    ) {
+        this.carService = carService;
+        this.ownerService = ownerService;
+        this.ownerRepository = ownerRepository;
+        this.validator = validator;
+        this.importJobExecutor = importJobExecutor;
+    }
+
+    /**
+     * Spool an uploaded file and queue its import.
+     *
+     * @param type the entity to import.
+     * @param file the uploaded CSV file.
+     * @return the queued job.
+     * @throws IOException if the file cannot be spooled.
+     */
+    public ImportJobDTO submit(ImportJobDTO.Type type, MultipartFile file) throws IOException {
+        LOG.debug("Request to import {} from {}", type, file.getOriginalFilename());
+        String login = SecurityUtils.getCurrentUserLogin().orElse(null);
+        Path spooled = Files.createTempFile("import-job-", ".csv");
+        ImportJob job;
+        try {
+            file.transferTo(spooled);
+            job = new ImportJob(type, file.getOriginalFilename(), spooled, Files.size(spooled), login);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        ImportJobDTO queued = job.publish(ImportJobDTO.Status.QUEUED, null);
+        try {
+            importJobExecutor.execute(job);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Import job {} rejected: {}", job.id, e.getMessage());
+            job.deleteFile();
+            return job.publish(ImportJobDTO.Status.FAILED, "Too many import jobs, try again later");
+        }
+        return jobs.getOrDefault(job.id, queued);
+    }
+
+    /**
+     * Get all the import jobs of the current user, or of all the users for an admin, the most recent first.
+     *
+     * @return the list of jobs.
+     */
+    public List<ImportJobDTO> findAll() {
+        LOG.debug("Request to get all ImportJobs");
+        return jobs
+            .values()
+            .stream()
+            .filter(ImportJobService::isVisible)
+            .sorted(Comparator.comparing(ImportJobDTO::getCreatedDate).reversed())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get one import job by id, if the current user started it or is an admin.
+     *
+     * @param id the id of the job.
+     * @return the job.
+     */
+    public Optional<ImportJobDTO> findOne(String id) {
+        LOG.debug("Request to get ImportJob : {}", id);
+        return Optional.ofNullable(jobs.get(id)).filter(ImportJobService::isVisible);
+    }
+
+    /**
+     * Finished jobs should be forgotten after one day.
+     * <p>
+     * This is scheduled to get fired every hour.
+     */
+    @Scheduled(cron = "0 0 * * * ?")
+    public void removeFinishedJobs() {
+        Instant limit = Instant.now().minus(RETENTION);
+        jobs
+            .values()
+            .removeIf(job -> {
+                if (job.getFinishedDate() != null && job.getFinishedDate().isBefore(limit)) {
+                    LOG.debug("Removing finished import job {}", job.getId());
+                    return true;
+                }
+                return false;
+            });
+    }
+
+    private static boolean isVisible(ImportJobDTO job) {
+        return (
+            SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN) ||
+            SecurityUtils.getCurrentUserLogin().filter(login -> login.equals(job.getCreatedBy())).isPresent()
+        );
+    }
+
+    private Map<String, Long> loadOwnerIds() {
+        Map<String, Long> ownerIds = new HashMap<>();
+        for (OwnerRepository.IdAndName owner : ownerRepository.findAllProjectedBy()) {
+            ownerIds.put(owner.getName(), owner.getId());
+        }
+        return ownerIds;
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private static int requiredColumn(Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Missing column " + name);
+        }
+        return index;
+    }
+
+    private static String value(List<String> record, Integer index) {
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    /**
+     * A job and its worker state, only modified by the thread running it.
+     */
+    private final class ImportJob implements Runnable {
+
+        private final String id = UUID.randomUUID().toString();
+
+        private final ImportJobDTO.Type type;
+
+        private final String fileName;
+
+        private final Path file;
+
+        private final long totalBytes;
+
+        private final String createdBy;
+
+        private final Instant createdDate = Instant.now();
+
+        private final BulkUpsertResultDTO result = new BulkUpsertResultDTO();
+
+        private CountingInputStream in;
+
+        private Instant startedDate;
+
+        ImportJob(ImportJobDTO.Type type, String fileName, Path file, long totalBytes, String createdBy) {
+            this.type = type;
+            this.fileName = fileName;
+            this.file = file;
+            this.totalBytes = totalBytes;
+            this.createdBy = createdBy;
+        }
+
+        @Override
+        public void run() {
+            startedDate = Instant.now();
+            publish(ImportJobDTO.Status.RUNNING, null);
+            try (CsvReader csv = open()) {
+                List<String> header = csv.readRecord();
+                if (header == null) {
+                    throw new IllegalArgumentException("Empty file");
+                }
+                switch (type) {
+                    case CARS -> importCars(csv, columns(header));
+                    case OWNERS -> importOwners(csv, columns(header));
+                }
+                publish(ImportJobDTO.Status.COMPLETED, null);
+                LOG.info("Import job {} of {} completed: {}", id, fileName, result);
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Import job {} of {} failed: {}", id, fileName, e.getMessage());
+                publish(ImportJobDTO.Status.FAILED, e.getMessage());
+            } finally {
+                deleteFile();
+            }
+        }
+
+        private CsvReader open() throws IOException {
+            in = new CountingInputStream(Files.newInputStream(file));
+            return new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8), SEPARATOR);
+        }
+
+        private void importCars(CsvReader csv, Map<String, Integer> columns) throws IOException {
+            int name = requiredColumn(columns, "name");
+            int model = requiredColumn(columns, "model");
+            int price = requiredColumn(columns, "price");
+            Integer owner = columns.get("owner");
+            Map<String, Long> ownerIds = owner == null ? Map.of() : loadOwnerIds();
+            ChunkedUpsert<CarDTO> chunks = new ChunkedUpsert<>(validator, CarIngestService.CHUNK_SIZE, carService::upsertByName, result);
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                long line = csv.getRecordLine();
+                CarDTO carDTO = new CarDTO();
+                carDTO.setName(value(record, name));
+                carDTO.setModel(value(record, model));
+                String ownerName = value(record, owner);
+                try {
+                    String priceValue = value(record, price);
+                    carDTO.setPrice(priceValue == null ? null : new BigDecimal(priceValue));
+                } catch (NumberFormatException e) {
+                    chunks.reject(line, "price is not a number");
+                    continue;
+                }
+                if (ownerName != null) {
+                    Long ownerId = ownerIds.get(ownerName);
+                    if (ownerId == null) {
+                        chunks.reject(line, "Unknown owner " + ownerName);
+                        continue;
+                    }
+                    OwnerDTO ownerDTO = new OwnerDTO();
+                    ownerDTO.setId(ownerId);
+                    carDTO.setOwner(ownerDTO);
+                }
+                chunks.add(line, carDTO);
+                publishProgress();
+            }
+            chunks.flush();
+        }
+
+        private void importOwners(CsvReader csv, Map<String, Integer> columns) throws IOException {
+            int name = requiredColumn(columns, "name");
+            int gender = requiredColumn(columns, "gender");
+            ChunkedUpsert<OwnerDTO> chunks = new ChunkedUpsert<>(
+                validator,
+                CarIngestService.CHUNK_SIZE,
+                ownerService::upsertByName,
+                result
+            );
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                OwnerDTO ownerDTO = new OwnerDTO();
+                ownerDTO.setName(value(record, name));
+                ownerDTO.setGender(value(record, gender));
+                chunks.add(csv.getRecordLine(), ownerDTO);
+                publishProgress();
+            }
+            chunks.flush();
+        }
+
+        private void publishProgress() {
+            if (result.getReceived() % CarIngestService.CHUNK_SIZE == 0) {
+                publish(ImportJobDTO.Status.RUNNING, null);
+            }
+        }
+
+        ImportJobDTO publish(ImportJobDTO.Status status, String message) {
+            ImportJobDTO job = new ImportJobDTO();
+            job.setId(id);
+            job.setType(type);
+            job.setFileName(fileName);
+            job.setStatus(status);
+            job.setMessage(message);
+            job.setTotalBytes(totalBytes);
+            job.setCreatedBy(createdBy);
+            job.setCreatedDate(createdDate);
+            job.setStartedDate(startedDate);
+            job.setResult(new BulkUpsertResultDTO(result));
+            long bytesRead = in == null ? 0 : in.count;
+            job.setBytesRead(bytesRead);
+            if (startedDate != null) {
+                Instant now = Instant.now();
+                double seconds = Math.max(ChronoUnit.MILLIS.between(startedDate, now), 1) / 1000.0;
+                job.setRowsPerSecond(result.getReceived() / seconds);
+                if (status == ImportJobDTO.Status.RUNNING && bytesRead > 0) {
+                    job.setEtaSeconds(Math.round((totalBytes - bytesRead) * seconds / bytesRead));
+                }
+                if (status == ImportJobDTO.Status.COMPLETED || status == ImportJobDTO.Status.FAILED) {
+                    job.setFinishedDate(now);
+                }
+            } else if (status == ImportJobDTO.Status.FAILED) {
+                job.setFinishedDate(Instant.now());
+            }
+            jobs.put(id, job);
+            return job;
+        }
+
+        void deleteFile() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.warn("Could not delete the spooled file of import job {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Counts the bytes read, to estimate the progress of a job.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.company.service;
+
+import com.company.domain.Car;
+import com.company.repository.OwnerFleetSummaryRepository;
+import com.company.service.dto.OwnerFleetSummaryDTO;
+import com.company.service.mapper.OwnerFleetSummaryMapper;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service Implementation for maintaining and reading {@link com.company.domain.OwnerFleetSummary}.
+ * <p>
+ * The services writing cars and owners report their changes in the current transaction. The changes are summed
+ * per owner and written just before the transaction commits, one statement per owner, in owner id order so that
+ * concurrent transactions lock the rows in the same order.
+ */
+@Service
+@Transactional
+public class OwnerFleetSummaryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OwnerFleetSummaryService.class);
+
+    private final OwnerFleetSummaryRepository ownerFleetSummaryRepository;
+
+    private final OwnerFleetSummaryMapper ownerFleetSummaryMapper;
+
+    public OwnerFleetSummaryService(
+        OwnerFleetSummaryRepository ownerFleetSummaryRepository,
+        OwnerFleetSummaryMapper ownerFleetSummaryMapper
+    ) {
+        this.ownerFleetSummaryRepository = ownerFleetSummaryRepository;
+        this.ownerFleetSummaryMapper = ownerFleetSummaryMapper;
+    }
+
+    /**
+     * Create the empty summary of a new owner.
+     *
+     * @param ownerId the id of the owner.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addOwner(Long ownerId) {
+        pendingChanges().get(ownerId).created = true;
+    }
+
+    /**
+     * Count a car in the summary of its owner, once it is created or changed.
+     *
+     * @param car the car, with its current owner and price.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addCar(Car car) {
+        addCar(car.getOwner() == null ? null : car.getOwner().getId(), car.getPrice());
+    }
+
+    /**
+     * Count a car in the summary of its owner, once it is created or changed.
+     *
+     * @param ownerId the id of the current owner of the car, {@code null} if it has none.
+     * @param price the current price of the car.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addCar(Long ownerId, BigDecimal price) {
+        if (ownerId != null) {
+            pendingChanges().get(ownerId).add(1, price);
+        }
+    }
+
+    /**
+     * Remove a car from the summary of its owner, before it is deleted or changed.
+     *
+     * @param car the car, with its previous owner and price.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeCar(Car car) {
+        removeCar(car.getOwner() == null ? null : car.getOwner().getId(), car.getPrice());
+    }
+
+    /**
+     * Remove a car from the summary of its owner, before it is deleted or changed.
+     *
+     * @param ownerId the id of the previous owner of the car, {@code null} if it had none.
+     * @param price the previous price of the car.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeCar(Long ownerId, BigDecimal price) {
+        if (ownerId != null) {
+            pendingChanges().get(ownerId).add(-1, price.negate());
+        }
+    }
+
+    /**
+     * Get all the owner fleet summaries.
+     *
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<OwnerFleetSummaryDTO> findAll(Pageable pageable) {
+        LOG.debug("Request to get all OwnerFleetSummaries");
+        return ownerFleetSummaryRepository.findAllWithOwner(pageable).map(ownerFleetSummaryMapper::toDto);
+    }
+
+    /**
+     * Get the fleet summary of an owner.
+     *
+     * @param ownerId the id of the owner.
+     * @return the summary.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OwnerFleetSummaryDTO> findOne(Long ownerId) {
+        LOG.debug("Request to get OwnerFleetSummary : {}", ownerId);
+        return ownerFleetSummaryRepository.findById(ownerId).map(ownerFleetSummaryMapper::toDto);
+    }
+
+    private PendingChanges pendingChanges() {
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * The changes of the summaries in a transaction, by owner id.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Map<Long, Change> changes = new TreeMap<>();
+
+        Change get(Long ownerId) {
+            return changes.computeIfAbsent(ownerId, id -> new Change());
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(OwnerFleetSummaryService.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(OwnerFleetSummaryService.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            changes.forEach((ownerId, change) -> {
+                if (change.created || change.carCount != 0 || change.totalValue.signum() != 0) {
+                    ownerFleetSummaryRepository.addToSummary(ownerId, change.carCount, change.totalValue);
+                }
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OwnerFleetSummaryService.this);
+        }
+    }
+
+    private static final class Change {
+
+        private boolean created;
+
+        private long carCount;
+
+        private BigDecimal totalValue = BigDecimal.ZERO;
+
+        void add(long carCount, BigDecimal totalValue) {
+            this.carCount += carCount;
+            this.totalValue = this.totalValue.add(totalValue);
+        }
+    }
+}
@@ -2,16 +2,26 @@ package com.company.service;
 
 import com.company.domain.Owner;
 import com.company.repository.OwnerRepository;
+import com.company.service.dto.ChangesDTO;
 import com.company.service.dto.OwnerDTO;
 import com.company.service.mapper.OwnerMapper;
-import java.util.LinkedList;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service Implementation for managing {@link com.company.domain.Owner}.
@@ -22,13 +32,43 @@ public class OwnerService {
 
     private static final Logger LOG = LoggerFactory.getLogger(OwnerService.class);
 
+    private static final RowMapper<OwnerDTO> OWNER_ROW_MAPPER = (rs, rowNum) -> {
+        OwnerDTO ownerDTO = new OwnerDTO();
+        ownerDTO.setId(rs.getLong(1));
+        ownerDTO.setName(rs.getString(2));
+        ownerDTO.setGender(rs.getString(3));
+        ownerDTO.setVersion(rs.getLong(4));
+        return ownerDTO;
+    };
+
+    private static final ChangeFeed<OwnerDTO> CHANGE_FEED = new ChangeFeed<>("owner", "id, name, gender, version", OWNER_ROW_MAPPER);
+
     private final OwnerRepository ownerRepository;
 
     private final OwnerMapper ownerMapper;
 
-    public OwnerService(OwnerRepository ownerRepository, OwnerMapper ownerMapper) {
+    private final OwnerFleetSummaryService ownerFleetSummaryService;
+
+    private final JdbcClient jdbcClient;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    public OwnerService(
+        OwnerRepository ownerRepository,
+        OwnerMapper ownerMapper,
+        OwnerFleetSummaryService ownerFleetSummaryService,
+        JdbcClient jdbcClient,
+        EntityManager entityManager,
+        Validator validator
+    ) {
         this.ownerRepository = ownerRepository;
         this.ownerMapper = ownerMapper;
+        this.ownerFleetSummaryService = ownerFleetSummaryService;
+        this.jdbcClient = jdbcClient;
+        this.entityManager = entityManager;
+        this.validator = validator;
     }
 
     /**
@@ -41,51 +81,114 @@ public class OwnerService {
         LOG.debug("Request to save Owner : {}", ownerDTO);
         Owner owner = ownerMapper.toEntity(ownerDTO);
         owner = ownerRepository.save(owner);
+        ownerFleetSummaryService.addOwner(owner.getId());
         return ownerMapper.toDto(owner);
     }
 
     /**
-     * Update a owner.
+     * Update a owner, with a single {@code UPDATE} statement that does not load it.
+     * <p>
+     * The update fails with an {@link ObjectOptimisticLockingFailureException} if the version of the DTO is not the
+     * current one; without a version, which the REST API only allows with {@code If-Match: *}, the owner is
+     * overwritten.
      *
      * @param ownerDTO the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, with its new version, or empty if there is no owner with its id.
      */
-    public OwnerDTO update(OwnerDTO ownerDTO) {
+    public Optional<OwnerDTO> update(OwnerDTO ownerDTO) {
         LOG.debug("Request to update Owner : {}", ownerDTO);
-        Owner owner = ownerMapper.toEntity(ownerDTO);
-        owner = ownerRepository.save(owner);
-        return ownerMapper.toDto(owner);
+        ColumnUpdate<OwnerDTO> columns = new ColumnUpdate<>(validator, OwnerDTO.class)
+            .set("name", ownerDTO.getName())
+            .set("gender", ownerDTO.getGender());
+        return updateColumns(ownerDTO.getId(), ownerDTO.getVersion(), columns);
     }
 
     /**
-     * Partially update a owner.
+     * Partially update a owner, with a single {@code UPDATE} statement of the columns of the non-null fields of the
+     * DTO, which does not load it.
+     * <p>
+     * The update fails with an {@link ObjectOptimisticLockingFailureException} if the DTO has a version that is not
+     * the current one.
      *
      * @param ownerDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, with its new version, or empty if there is no owner with its id.
+     * @throws jakarta.validation.ConstraintViolationException if one of the fields is not valid.
      */
     public Optional<OwnerDTO> partialUpdate(OwnerDTO ownerDTO) {
         LOG.debug("Request to partially update Owner : {}", ownerDTO);
+        ColumnUpdate<OwnerDTO> columns = new ColumnUpdate<>(validator, OwnerDTO.class)
+            .setIfPresent("name", ownerDTO.getName())
+            .setIfPresent("gender", ownerDTO.getGender());
+        columns.validate();
+        return updateColumns(ownerDTO.getId(), ownerDTO.getVersion(), columns);
+    }
 
-        return ownerRepository
-            .findById(ownerDTO.getId())
-            .map(existingOwner -> {
-                ownerMapper.partialUpdate(existingOwner, ownerDTO);
-
-                return existingOwner;
-            })
-            .map(ownerRepository::save)
-            .map(ownerMapper::toDto);
+    /**
+     * Insert or update owners by their unique name, in a single transaction.
+     *
+     * @param ownerDTOs the owners to upsert, their ids are ignored.
+     * @return the number of created owners, the other ones being updated.
+     */
+    public int upsertByName(List<OwnerDTO> ownerDTOs) {
+        LOG.debug("Request to upsert {} Owners by name", ownerDTOs.size());
+        Map<String, Owner> owners = ownerRepository
+            .findAllByNameIn(ownerDTOs.stream().map(OwnerDTO::getName).toList())
+            .stream()
+            .collect(Collectors.toMap(Owner::getName, Function.identity()));
+        int created = 0;
+        for (OwnerDTO ownerDTO : ownerDTOs) {
+            Owner owner = owners.get(ownerDTO.getName());
+            if (owner == null) {
+                owner = new Owner().name(ownerDTO.getName());
+                owners.put(owner.getName(), owner);
+                created++;
+            }
+            owner.setGender(ownerDTO.getGender());
+            if (owner.getId() == null) {
+                ownerRepository.save(owner);
+                ownerFleetSummaryService.addOwner(owner.getId());
+            }
+        }
+        return created;
     }
 
     /**
      * Get all the owners.
+     * <p>
+     * The rows are mapped straight to DTOs, without loading the entities in the persistence context.
      *
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
     public List<OwnerDTO> findAll() {
         LOG.debug("Request to get all Owners");
-        return ownerRepository.findAll().stream().map(ownerMapper::toDto).collect(Collectors.toCollection(LinkedList::new));
+        return jdbcClient.sql("select id, name, gender, version from owner order by id").query(OWNER_ROW_MAPPER).list();
+    }
+
+    /**
+     * Get the owners created, updated or deleted after a revision, in the order of their revisions.
+     *
+     * @param revision the revision to read the changes after.
+     * @param id the id to read the changes of the revision after, {@code null} to start with the next revision.
+     * @param limit the maximum number of changes.
+     * @return the changes.
+     */
+    @Transactional(readOnly = true)
+    public ChangesDTO<OwnerDTO> findChanges(long revision, Long id, int limit) {
+        LOG.debug("Request to get the changes of Owners after revision : {}, id : {}", revision, id);
+        return CHANGE_FEED.find(jdbcClient, revision, id, limit);
+    }
+
+    /**
+     * Get the version of an owner, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of Owner : {}", id);
+        return ownerRepository.findVersionById(id);
     }
 
     /**
@@ -109,4 +212,56 @@ public class OwnerService {
         LOG.debug("Request to delete Owner : {}", id);
         ownerRepository.deleteById(id);
     }
+
+    /**
+     * Update the columns of an owner with a single statement. As it bypasses Hibernate, the owner is evicted from
+     * the persistence context and the second-level cache.
+     */
+    private Optional<OwnerDTO> updateColumns(Long id, Long version, ColumnUpdate<OwnerDTO> columns) {
+        StringBuilder sql = new StringBuilder("update owner set ");
+        if (columns.isEmpty()) {
+            sql.append("version = version");
+        } else {
+            sql.append(columns.assignments()).append(", version = version + 1");
+        }
+        sql.append(" where id = :id");
+        if (version != null) {
+            sql.append(" and version = :version");
+        }
+        sql.append(" returning id, name, gender, version");
+        Optional<OwnerDTO> result = columns
+            .bind(jdbcClient.sql(sql.toString()))
+            .param("id", id)
+            .param("version", version)
+            .query(OWNER_ROW_MAPPER)
+            .optional();
+        if (result.isEmpty()) {
+            if (ownerRepository.findVersionById(id).isPresent()) {
+                throw new ObjectOptimisticLockingFailureException(Owner.class, id);
+            }
+            return Optional.empty();
+        }
+        evictOwner(id);
+        return result;
+    }
+
+    /**
+     * Evict an owner updated in SQL from the persistence context, and from the second-level cache now and once the
+     * transaction is committed.
+     */
+    private void evictOwner(Long id) {
+        entityManager.detach(entityManager.getReference(Owner.class, id));
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Owner.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        cache.evict(Owner.class, id);
+                    }
+                }
+            );
+        }
+    }
 }
@@ -0,0 +1,4 @@
+/**
+ * Criteria classes, holding the filters of the search requests.
+ */
+package com.company.service.criteria;
@@ -0,0 +1,143 @@
+package com.company.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a bulk upsert: row counters and the first row failures.
+ */
+public class BulkUpsertResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private long received;
+
+    private long created;
+
+    private long updated;
+
+    private long failed;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    public BulkUpsertResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    /**
+     * Copy the counters and errors of another result.
+     *
+     * @param other the result to copy.
+     */
+    public BulkUpsertResultDTO(BulkUpsertResultDTO other) {
+        this.received = other.received;
+        this.created = other.created;
+        this.updated = other.updated;
+        this.failed = other.failed;
+        this.errors = new ArrayList<>(other.errors);
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * Count a failed row, keeping its details if less than {@link #MAX_REPORTED_ERRORS} were kept already.
+     *
+     * @param line the line number of the row, starting at 1.
+     * @param message the cause of the failure.
+     */
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkUpsertResultDTO{" +
+            "received=" + received +
+            ", created=" + created +
+            ", updated=" + updated +
+            ", failed=" + failed +
+            "}";
+    }
+
+    /**
+     * The failure of a single row.
+     */
+    public static class RowError implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private long line;
+
+        private String message;
+
+        public RowError() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
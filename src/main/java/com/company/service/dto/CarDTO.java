@@ -24,6 +24,8 @@ public class CarDTO implements Serializable {
 
     private OwnerDTO owner;
 
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -64,6 +66,14 @@ public class CarDTO implements Serializable {
         this.owner = owner;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -94,6 +104,7 @@ public class CarDTO implements Serializable {
             ", model='" + getModel() + "'" +
             ", price=" + getPrice() +
             ", owner=" + getOwner() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,88 @@
+package com.company.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the changes of an entity after a revision, for delta sync: the created or updated rows, the ids
+ * of the deleted ones, and the position to read the next changes from.
+ *
+ * @param <T> the type of the DTO of the entity.
+ */
+public class ChangesDTO<T extends Serializable> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private ArrayList<T> changed = new ArrayList<>();
+
+    private ArrayList<Long> deleted = new ArrayList<>();
+
+    private long nextRevision;
+
+    private Long nextId;
+
+    private boolean hasMore;
+
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<T> changed) {
+        this.changed = new ArrayList<>(changed);
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = new ArrayList<>(deleted);
+    }
+
+    /**
+     * @return the revision to read the next changes after.
+     */
+    public long getNextRevision() {
+        return nextRevision;
+    }
+
+    public void setNextRevision(long nextRevision) {
+        this.nextRevision = nextRevision;
+    }
+
+    /**
+     * @return the id to read the next changes of the next revision after, {@code null} if that revision was read
+     * completely.
+     */
+    public Long getNextId() {
+        return nextId;
+    }
+
+    public void setNextId(Long nextId) {
+        this.nextId = nextId;
+    }
+
+    /**
+     * @return whether more changes can be read right away from the next position.
+     */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ChangesDTO{" +
+            "changed=" + changed.size() +
+            ", deleted=" + deleted.size() +
+            ", nextRevision=" + nextRevision +
+            ", nextId=" + nextId +
+            ", hasMore=" + hasMore +
+            "}";
+    }
+}
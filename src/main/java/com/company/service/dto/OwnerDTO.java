@@ -18,6 +18,8 @@ public class OwnerDTO implements Serializable {
     @NotNull
     private String gender;
 
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -42,6 +44,14 @@ public class OwnerDTO implements Serializable {
         this.gender = gender;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -70,6 +80,7 @@ public class OwnerDTO implements Serializable {
             "id=" + getId() +
             ", name='" + getName() + "'" +
             ", gender='" + getGender() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
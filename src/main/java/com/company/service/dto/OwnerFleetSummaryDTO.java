@@ -0,0 +1,84 @@
+package com.company.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.company.domain.OwnerFleetSummary} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OwnerFleetSummaryDTO implements Serializable {
+
+    private Long ownerId;
+
+    private String ownerName;
+
+    private Long carCount;
+
+    private BigDecimal totalValue;
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public void setOwnerName(String ownerName) {
+        this.ownerName = ownerName;
+    }
+
+    public Long getCarCount() {
+        return carCount;
+    }
+
+    public void setCarCount(Long carCount) {
+        this.carCount = carCount;
+    }
+
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+
+    public void setTotalValue(BigDecimal totalValue) {
+        this.totalValue = totalValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OwnerFleetSummaryDTO)) {
+            return false;
+        }
+
+        OwnerFleetSummaryDTO ownerFleetSummaryDTO = (OwnerFleetSummaryDTO) o;
+        if (this.ownerId == null) {
+            return false;
+        }
+        return Objects.equals(this.ownerId, ownerFleetSummaryDTO.ownerId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.ownerId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OwnerFleetSummaryDTO{" +
+            "ownerId=" + getOwnerId() +
+            ", ownerName='" + getOwnerName() + "'" +
+            ", carCount=" + getCarCount() +
+            ", totalValue=" + getTotalValue() +
+            "}";
+    }
+}
@@ -0,0 +1,32 @@
+package com.company.service.event;
+
+import com.company.service.dto.CarDTO;
+
+/**
+ * Published by {@link com.company.service.CarService} when a car is created, updated or deleted.
+ * <p>
+ * Listeners that must only see committed changes should use a {@code @TransactionalEventListener}.
+ *
+ * @param type the kind of change.
+ * @param id the id of the car.
+ * @param car the state of the car after the change, {@code null} when it was deleted.
+ */
+public record CarChangedEvent(Type type, Long id, CarDTO car) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static CarChangedEvent created(CarDTO car) {
+        return new CarChangedEvent(Type.CREATED, car.getId(), car);
+    }
+
+    public static CarChangedEvent updated(CarDTO car) {
+        return new CarChangedEvent(Type.UPDATED, car.getId(), car);
+    }
+
+    public static CarChangedEvent deleted(Long id) {
+        return new CarChangedEvent(Type.DELETED, id, null);
+    }
+}
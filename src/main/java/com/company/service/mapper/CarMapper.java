@@ -14,6 +14,17 @@ public interface CarMapper extends EntityMapper<CarDTO, Car> {
     @Mapping(target = "owner", source = "owner", qualifiedByName = "ownerId")
     CarDTO toDto(Car s);
 
+    /**
+     * Partially update a car. The owner is left to the caller, who must replace it with a reference rather than
+     * change the id of the current owner, and the version is managed by Hibernate.
+     */
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "owner", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Car entity, CarDTO dto);
+
     @Named("ownerId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -0,0 +1,14 @@
+package com.company.service.mapper;
+
+import com.company.domain.OwnerFleetSummary;
+import com.company.service.dto.OwnerFleetSummaryDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the read-only entity {@link OwnerFleetSummary} to its DTO {@link OwnerFleetSummaryDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface OwnerFleetSummaryMapper {
+    @Mapping(target = "ownerName", source = "owner.name")
+    OwnerFleetSummaryDTO toDto(OwnerFleetSummary s);
+}
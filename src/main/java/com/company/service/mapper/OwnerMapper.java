@@ -8,4 +8,15 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Owner} and its DTO {@link OwnerDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface OwnerMapper extends EntityMapper<OwnerDTO, Owner> {}
+public interface OwnerMapper extends EntityMapper<OwnerDTO, Owner> {
+    /**
+     * Partially update an owner, the version being managed by Hibernate and the cars by their own owner.
+     */
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "cars", ignore = true)
+    @Mapping(target = "removeCar", ignore = true)
+    void partialUpdate(@MappingTarget Owner entity, OwnerDTO dto);
+}
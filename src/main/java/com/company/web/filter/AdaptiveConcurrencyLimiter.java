@@ -0,0 +1,149 @@
+package com.company.web.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limit of the requests in flight, adjusted from their latency in the style of TCP Vegas.
+ * <p>
+ * The latency without load is the minimum seen. Each latency sample estimates how many requests are queued
+ * beyond what the backend can serve: {@code limit * (1 - noLoadLatency / latency)}. The limit grows while that
+ * queue is small, and shrinks as soon as it grows, for instance when the database slows down. So request threads
+ * do not pile up: the requests over the limit are rejected right away. The latency without load is measured again
+ * from time to time, to follow the changes of the backend.
+ * <p>
+ * Priority requests may go {@code priorityHeadroom} over the limit, so that they are rejected last.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double priorityHeadroom;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    private volatile int queue;
+
+    private long noLoadLatency;
+
+    private long samples;
+
+    private final Counter rejected;
+
+    private final Counter priorityRejected;
+
+    /**
+     * @param initialLimit the limit before the first latency samples.
+     * @param minLimit the lowest limit.
+     * @param maxLimit the highest limit.
+     * @param priorityHeadroom the share of the limit that only priority requests may use on top of it.
+     * @param meterRegistry the registry of the limit, in-flight, queue and rejection metrics.
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double priorityHeadroom, MeterRegistry meterRegistry) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.priorityHeadroom = priorityHeadroom;
+        Gauge.builder("http.server.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Limit of the API requests in flight")
+            .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in.flight", inFlight, AtomicInteger::get)
+            .description("API requests in flight")
+            .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.queue", this, AdaptiveConcurrencyLimiter::getQueue)
+            .description("Estimated API requests waiting for the backend, from the last latency sample")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.concurrency.rejected")
+            .description("API requests rejected over the limit")
+            .tag("priority", "false")
+            .register(meterRegistry);
+        this.priorityRejected = Counter.builder("http.server.concurrency.rejected")
+            .description("API requests rejected over the limit")
+            .tag("priority", "true")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Count a request in flight, if the limit allows it.
+     *
+     * @param priority whether the request may use the priority headroom.
+     * @return the number of requests in flight before this one, or {@code -1} if it must be rejected.
+     */
+    public int tryAcquire(boolean priority) {
+        double current = limit;
+        int max = (int) (priority ? current * (1 + priorityHeadroom) : current);
+        while (true) {
+            int count = inFlight.get();
+            if (count >= max) {
+                (priority ? priorityRejected : rejected).increment();
+                return -1;
+            }
+            if (inFlight.compareAndSet(count, count + 1)) {
+                return count;
+            }
+        }
+    }
+
+    /**
+     * Release a request acquired without measuring its latency, for instance a long-lived streaming request.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Release a request and update the limit from its latency.
+     *
+     * @param latencyNanos the latency of the request.
+     * @param inFlightBefore the number of requests in flight before it, returned by {@link #tryAcquire(boolean)}.
+     */
+    public void release(long latencyNanos, int inFlightBefore) {
+        inFlight.decrementAndGet();
+        onSample(Math.max(latencyNanos, 1), inFlightBefore + 1);
+    }
+
+    synchronized void onSample(long latency, int inFlightAtStart) {
+        if (samples++ % Math.max(1, (long) (PROBE_MULTIPLIER * limit)) == 0 || noLoadLatency == 0 || latency < noLoadLatency) {
+            noLoadLatency = latency;
+        }
+        double currentLimit = limit;
+        int queueSize = (int) Math.ceil(currentLimit * (1 - (double) noLoadLatency / latency));
+        queue = queueSize;
+        // A limit that is far from being reached says nothing about the backend
+        if (inFlightAtStart * 2 < currentLimit) {
+            return;
+        }
+        double log = Math.max(1, Math.log10(currentLimit));
+        double newLimit;
+        if (queueSize <= log) {
+            newLimit = currentLimit + 6 * log;
+        } else if (queueSize < 3 * log) {
+            newLimit = currentLimit + log;
+        } else if (queueSize > 6 * log) {
+            newLimit = currentLimit - log;
+        } else {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueue() {
+        return queue;
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.web.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds the API requests over the {@link AdaptiveConcurrencyLimiter} limit with a {@code 503 (Service Unavailable)}
+ * and a {@code Retry-After} header, before they wait for a busy backend.
+ * <p>
+ * Only the {@code /api} requests are limited, so {@code /management/health} always answers. The writes of
+ * authenticated users have priority over the other requests. The latency of the asynchronous requests, like the
+ * streams and exports, is not a sample of the backend latency: they only hold their slot until the handler returns.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final String retryAfter;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, Duration retryAfter) {
+        this.limiter = limiter;
+        this.retryAfter = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        int inFlight = limiter.tryAcquire(isAuthenticatedWrite(request));
+        if (inFlight < 0) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean sampled = false;
+        try {
+            filterChain.doFilter(request, response);
+            sampled = !request.isAsyncStarted();
+        } finally {
+            if (sampled) {
+                limiter.release(System.nanoTime() - start, inFlight);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+
+    private static boolean isAuthenticatedWrite(HttpServletRequest request) {
+        if (READ_METHODS.contains(request.getMethod())) {
+            return false;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+}
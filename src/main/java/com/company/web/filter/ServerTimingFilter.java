@@ -0,0 +1,101 @@
+package com.company.web.filter;
+
+import com.company.management.RequestTimings;
+import com.company.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records where the time of the API requests went, in the {@code http.server.timing} timers and the
+ * {@code http.server.statements} summary, tagged by endpoint.
+ * <p>
+ * The timings are also sent back in a {@code Server-Timing} header to the admins, or to everyone in debug mode. The
+ * asynchronous requests, like the streams and exports, are not recorded.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean debug;
+
+    /**
+     * @param meterRegistry the registry of the meters.
+     * @param debug whether the {@code Server-Timing} header is sent to everyone, not only to the admins.
+     */
+    public ServerTimingFilter(MeterRegistry meterRegistry, boolean debug) {
+        this.meterRegistry = meterRegistry;
+        this.debug = debug;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start(debug || isAdmin());
+        try {
+            filterChain.doFilter(request, response);
+            if (!request.isAsyncStarted()) {
+                if (timings.isServerTimingHeader() && !response.isCommitted()) {
+                    response.setHeader(RequestTimings.SERVER_TIMING_HEADER, timings.serverTiming());
+                }
+                record(request, timings);
+            }
+        } finally {
+            timings.stop();
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestTimings timings) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : UNKNOWN_URI);
+        timer(tags, "connection").record(timings.getConnectionNanos(), TimeUnit.NANOSECONDS);
+        timer(tags, "jdbc").record(timings.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        timer(tags, "mapping").record(timings.getMappingNanos(), TimeUnit.NANOSECONDS);
+        timer(tags, "serialization").record(timings.getSerializationNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.server.statements")
+            .description("JDBC statements run by the API requests")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(timings.getStatements());
+    }
+
+    private Timer timer(Tags tags, String part) {
+        return Timer.builder("http.server.timing")
+            .description("Time of the API requests waiting for a connection, running statements, mapping and serializing")
+            .tags(tags)
+            .tag("part", part)
+            .register(meterRegistry);
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (AuthoritiesConstants.ADMIN.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -10,12 +10,14 @@ import com.company.service.dto.PasswordChangeDTO;
 import com.company.web.rest.errors.*;
 import com.company.web.rest.vm.KeyAndPasswordVM;
 import com.company.web.rest.vm.ManagedUserVM;
+import com.company.web.util.ETagUtil;
 import jakarta.validation.Valid;
 import java.util.*;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -80,16 +82,20 @@ public class AccountResource {
 
     /**
      * {@code GET  /account} : get the current user.
+     * <p>
+     * The response has an ETag, so that a client revalidating it with {@code If-None-Match} gets a
+     * {@code 304 (Not Modified)} without the body.
      *
      * @return the current user.
      * @throws RuntimeException {@code 500 (Internal Server Error)} if the user couldn't be returned.
      */
     @GetMapping("/account")
-    public AdminUserDTO getAccount() {
-        return userService
+    public ResponseEntity<AdminUserDTO> getAccount() {
+        AdminUserDTO user = userService
             .getUserWithAuthorities()
             .map(AdminUserDTO::new)
             .orElseThrow(() -> new AccountResourceException("User could not be found"));
+        return ResponseEntity.ok().eTag(accountETag(user)).cacheControl(ETagUtil.REVALIDATE).body(user);
     }
 
     /**
@@ -170,6 +176,23 @@ public class AccountResource {
         }
     }
 
+    /**
+     * The ETag of an account, from its user, its last modification date and its authorities, as changing only the
+     * authorities of a user does not update it. The id keeps two users with the same date and authorities apart.
+     */
+    private static String accountETag(AdminUserDTO user) {
+        long lastModified = user.getLastModifiedDate() == null ? 0 : user.getLastModifiedDate().toEpochMilli();
+        return (
+            "\"" +
+            user.getId() +
+            "-" +
+            Long.toHexString(lastModified) +
+            "-" +
+            Integer.toHexString(Objects.hashCode(user.getAuthorities())) +
+            "\""
+        );
+    }
+
     private static boolean isPasswordLengthInvalid(String password) {
         return (
             StringUtils.isEmpty(password) ||
@@ -1,21 +1,59 @@
 package com.company.web.rest;
 
-import com.company.repository.CarRepository;
+import com.company.config.ApplicationProperties;
+import com.company.service.CarChangeStream;
+import com.company.service.CarIngestService;
+import com.company.service.CarQueryService;
+import com.company.service.CarSearchIndex;
 import com.company.service.CarService;
+import com.company.service.criteria.CarCriteria;
+import com.company.service.dto.BulkUpsertResultDTO;
 import com.company.service.dto.CarDTO;
+import com.company.service.dto.ChangesDTO;
+import com.company.service.event.CarChangedEvent;
 import com.company.web.rest.errors.BadRequestAlertException;
+import com.company.web.util.ETagUtil;
+import com.company.web.util.CursorUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -30,16 +68,56 @@ public class CarResource {
 
     private static final String ENTITY_NAME = "car";
 
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("id", "name", "price");
+
+    private static final int DEFAULT_CURSOR_SIZE = 20;
+
+    private static final int MAX_CURSOR_SIZE = 1000;
+
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    // Seconds, the interval of the retries of a failed index build
+    private static final String SEARCH_RETRY_AFTER = "60";
+
+    private static final int MAX_CHANGES_LIMIT = 1000;
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final char CSV_SEPARATOR = ';';
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final CarService carService;
 
-    private final CarRepository carRepository;
+    private final CarQueryService carQueryService;
+
+    private final CarIngestService carIngestService;
 
-    public CarResource(CarService carService, CarRepository carRepository) {
+    private final CarSearchIndex carSearchIndex;
+
+    private final CarChangeStream carChangeStream;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration streamTimeout;
+
+    public CarResource(
+        CarService carService,
+        CarQueryService carQueryService,
+        CarIngestService carIngestService,
+        CarSearchIndex carSearchIndex,
+        CarChangeStream carChangeStream,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
         this.carService = carService;
-        this.carRepository = carRepository;
+        this.carQueryService = carQueryService;
+        this.carIngestService = carIngestService;
+        this.carSearchIndex = carSearchIndex;
+        this.carChangeStream = carChangeStream;
+        this.objectMapper = objectMapper;
+        this.streamTimeout = applicationProperties.getCarStream().getTimeout();
     }
 
     /**
@@ -61,6 +139,23 @@ public class CarResource {
             .body(carDTO);
     }
 
+    /**
+     * {@code POST  /cars/_bulk} : Create or update cars by name, from a newline delimited JSON stream.
+     * <p>
+     * The body is read as it arrives and written in chunks, each one in its own transaction. Invalid rows
+     * are reported with their line number and do not prevent the other rows from being saved.
+     *
+     * @param body the cars, one JSON object per line.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the counts of created, updated and failed rows.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/_bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkUpsertResultDTO> bulkUpsertCars(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk upsert Cars");
+        BulkUpsertResultDTO result = carIngestService.ingestNdjson(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * {@code PUT  /cars/:id} : Updates an existing car.
      *
@@ -68,12 +163,19 @@ public class CarResource {
      * @param carDTO the carDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated carDTO,
      * or with status {@code 400 (Bad Request)} if the carDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the carDTO is not found,
+     * or with status {@code 409 (Conflict)} if the version of the carDTO is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the {@code If-Match} header is not the current ETag,
+     * or with status {@code 428 (Precondition Required)} if the carDTO has no version and the request no {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the carDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<CarDTO> updateCar(@PathVariable(value = "id", required = false) final Long id, @Valid @RequestBody CarDTO carDTO)
-        throws URISyntaxException {
+    public ResponseEntity<CarDTO> updateCar(
+        @PathVariable(value = "id", required = false) final Long id,
+        @Valid @RequestBody CarDTO carDTO,
+        WebRequest webRequest
+    ) throws URISyntaxException {
         LOG.debug("REST request to update Car : {}, {}", id, carDTO);
         if (carDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -81,15 +183,13 @@ public class CarResource {
         if (!Objects.equals(id, carDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        ETagUtil.requireVersion(webRequest, carDTO.getVersion());
 
-        if (!carRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<CarDTO> result = ETagUtil.writeIfMatch(webRequest, carDTO::setVersion, () -> carService.update(carDTO));
 
-        carDTO = carService.update(carDTO);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, carDTO.getId().toString()))
-            .body(carDTO);
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, carDTO.getId().toString());
+        result.ifPresent(updatedCar -> headers.setETag(ETagUtil.eTag(updatedCar.getVersion())));
+        return ResponseUtil.wrapOrNotFound(result, headers);
     }
 
     /**
@@ -100,13 +200,16 @@ public class CarResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated carDTO,
      * or with status {@code 400 (Bad Request)} if the carDTO is not valid,
      * or with status {@code 404 (Not Found)} if the carDTO is not found,
+     * or with status {@code 409 (Conflict)} if the version of the carDTO is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the {@code If-Match} header is not the current ETag,
      * or with status {@code 500 (Internal Server Error)} if the carDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<CarDTO> partialUpdateCar(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody CarDTO carDTO
+        @NotNull @RequestBody CarDTO carDTO,
+        WebRequest webRequest
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Car partially : {}, {}", id, carDTO);
         if (carDTO.getId() == null) {
@@ -116,40 +219,213 @@ public class CarResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!carRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Optional<CarDTO> result = ETagUtil.writeIfMatch(webRequest, carDTO::setVersion, () -> carService.partialUpdate(carDTO));
+
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, carDTO.getId().toString());
+        result.ifPresent(updatedCar -> headers.setETag(ETagUtil.eTag(updatedCar.getVersion())));
+        return ResponseUtil.wrapOrNotFound(result, headers);
+    }
+
+    /**
+     * {@code GET  /cars} : get the cars matching the criteria, or a window of them when {@code size} or {@code after} is given.
+     * <p>
+     * Windows are read with a bounded keyset query; the cursor of the next window is returned in the
+     * {@code X-Next-Cursor} header and must be sent back with the same sort and criteria. Without {@code size}
+     * nor {@code after}, the first {@link CarQueryService#MAX_RESULT_SIZE} cars by id are returned, with the
+     * cursor of the next ones if there are more.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param size the maximum number of cars in the window.
+     * @param after the cursor of the window to read, absent for the first one.
+     * @param sort the sort keys of the window, among {@code id}, {@code name} and {@code price}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cars in body,
+     * or with status {@code 400 (Bad Request)} if the window parameters are not valid.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<CarDTO>> getAllCars(
+        CarCriteria criteria,
+        @RequestParam(name = "size", required = false) Integer size,
+        @RequestParam(name = "after", required = false) String after,
+        Sort sort
+    ) {
+        if (size == null && after == null) {
+            LOG.debug("REST request to get Cars by criteria: {}", criteria);
+            Window<CarDTO> window = carQueryService.findByCriteria(criteria);
+            return ResponseEntity.ok().headers(CursorUtil.generateCursorHttpHeaders(window)).body(window.getContent());
+        }
+        LOG.debug("REST request to get a window of Cars by criteria: {}, after : {}", criteria, after);
+        int windowSize = size == null ? DEFAULT_CURSOR_SIZE : size;
+        if (windowSize < 1 || windowSize > MAX_CURSOR_SIZE) {
+            throw new BadRequestAlertException("Invalid window size", ENTITY_NAME, "sizeinvalid");
+        }
+        Sort keysetSort = toKeysetSort(sort);
+        KeysetScrollPosition position;
+        try {
+            position = CursorUtil.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        if (
+            !position.isInitial() &&
+            !position.getKeys().keySet().equals(keysetSort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet()))
+        ) {
+            throw new BadRequestAlertException("Cursor does not match the sort", ENTITY_NAME, "cursorinvalid");
+        }
+        Window<CarDTO> window = carQueryService.findByCriteria(criteria, position, keysetSort, windowSize);
+        return ResponseEntity.ok().headers(CursorUtil.generateCursorHttpHeaders(window)).body(window.getContent());
+    }
+
+    /**
+     * {@code GET  /cars/count} : count all the cars.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countCars(CarCriteria criteria) {
+        LOG.debug("REST request to count Cars by criteria: {}", criteria);
+        return ResponseEntity.ok().body(carQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /cars/_search?q=:query} : search the cars by name and model, for typeahead.
+     * <p>
+     * Query words of one or two characters match the start of a word, longer ones match anywhere in a word.
+     * The search runs on the in-memory {@link CarSearchIndex}, without querying the database.
+     *
+     * @param query the words to search.
+     * @param limit the maximum number of results.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the ids of the matching cars in body, best first,
+     * or with status {@code 400 (Bad Request)} if the limit is not valid,
+     * or with status {@code 503 (Service Unavailable)} if the index is not built yet.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<Long>> searchCars(
+        @RequestParam("q") String query,
+        @RequestParam(name = "limit", defaultValue = "20") int limit
+    ) {
+        LOG.debug("REST request to search Cars for query : {}", query);
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new BadRequestAlertException("Invalid search limit", ENTITY_NAME, "limitinvalid");
+        }
+        if (!carSearchIndex.isBuilt()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, SEARCH_RETRY_AFTER).build();
         }
+        return ResponseEntity.ok(carSearchIndex.search(query, limit));
+    }
 
-        Optional<CarDTO> result = carService.partialUpdate(carDTO);
+    /**
+     * {@code GET  /cars/_changes?revision=:revision&id=:id} : get the cars created, updated or deleted after a revision.
+     * <p>
+     * A client first reads the changes without revision, then reads again from the {@code nextRevision} and
+     * {@code nextId} of the last response, right away while {@code hasMore} is true.
+     *
+     * @param revision the revision to read the changes after.
+     * @param id the id to read the changes of the revision after, if the previous response was cut inside a revision.
+     * @param limit the maximum number of changes.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the changes in body,
+     * or with status {@code 400 (Bad Request)} if the limit is not valid.
+     */
+    @GetMapping("/_changes")
+    public ResponseEntity<ChangesDTO<CarDTO>> getCarsChanges(
+        @RequestParam(name = "revision", defaultValue = "-1") long revision,
+        @RequestParam(name = "id", required = false) Long id,
+        @RequestParam(name = "limit", defaultValue = "500") int limit
+    ) {
+        LOG.debug("REST request to get the changes of Cars after revision : {}, id : {}", revision, id);
+        if (limit < 1 || limit > MAX_CHANGES_LIMIT) {
+            throw new BadRequestAlertException("Invalid changes limit", ENTITY_NAME, "limitinvalid");
+        }
+        return ResponseEntity.ok(carService.findChanges(revision, id, limit));
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, carDTO.getId().toString())
+    /**
+     * {@code GET  /cars/_stream} : stream the changes of the cars as Server-Sent Events.
+     * <p>
+     * Each committed change is sent as a {@code created}, {@code updated} or {@code deleted} event, with the car or
+     * its id as data. A client that falls behind only gets the last change of each car, and an {@code overflow} event
+     * if too many were waiting, after which it should read the changes it missed from {@code /cars/_changes}.
+     * The stream is closed after {@code application.car-stream.timeout}, for the client to reconnect.
+     *
+     * @return the {@link SseEmitter} of the changes.
+     */
+    @GetMapping(value = "/_stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCars() {
+        LOG.debug("REST request to stream the changes of Cars");
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        CarChangeStream.Subscription subscription = carChangeStream.subscribe(
+            new CarChangeStream.Sink() {
+                @Override
+                public void change(CarChangedEvent event) throws IOException {
+                    Object data = event.type() == CarChangedEvent.Type.DELETED ? Map.of("id", event.id()) : event.car();
+                    String name = event.type().name().toLowerCase(Locale.ROOT);
+                    emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void overflow() throws IOException {
+                    emitter.send(SseEmitter.event().name("overflow").data(""));
+                }
+            }
         );
+        emitter.onCompletion(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
     }
 
     /**
-     * {@code GET  /cars} : get all the cars.
+     * {@code GET  /cars/_export} : stream all the cars, as newline delimited JSON or as CSV.
+     * <p>
+     * Rows are written while they are read from the database, so the first bytes are sent right away
+     * and memory use does not depend on the number of cars. The CSV uses the {@code ;} separator of the
+     * Liquibase fake-data files.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cars in body.
+     * @param format the export format, {@code ndjson} or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the streamed cars in body,
+     * or with status {@code 400 (Bad Request)} if the format is not supported.
      */
-    @GetMapping("")
-    public List<CarDTO> getAllCars() {
-        LOG.debug("REST request to get all Cars");
-        return carService.findAll();
+    @GetMapping("/_export")
+    public ResponseEntity<StreamingResponseBody> exportCars(@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        LOG.debug("REST request to export Cars as {}", format);
+        MediaType mediaType;
+        StreamingResponseBody body;
+        switch (format) {
+            case "ndjson" -> {
+                mediaType = MediaType.APPLICATION_NDJSON;
+                body = this::writeNdjson;
+            }
+            case "csv" -> {
+                mediaType = TEXT_CSV;
+                body = this::writeCsv;
+            }
+            default -> throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid");
+        }
+        return ResponseEntity.ok()
+            .contentType(mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("cars." + format).build().toString())
+            .body(body);
     }
 
     /**
      * {@code GET  /cars/:id} : get the "id" car.
      *
      * @param id the id of the carDTO to retrieve.
+     * @param webRequest the request, answered with {@code 304 (Not Modified)} if its {@code If-None-Match} header
+     * is the current ETag of the car.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the carDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CarDTO> getCar(@PathVariable("id") Long id) {
+    public ResponseEntity<CarDTO> getCar(@PathVariable("id") Long id, WebRequest webRequest) {
         LOG.debug("REST request to get Car : {}", id);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            // revalidate with the version alone, without loading the car
+            Optional<Long> version = carService.findVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(ETagUtil.eTag(version.orElseThrow()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ETagUtil.REVALIDATE).build();
+            }
+        }
         Optional<CarDTO> carDTO = carService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(carDTO);
+        return ResponseUtil.wrapOrNotFound(carDTO, carDTO.map(foundCar -> ETagUtil.createETagHeaders(foundCar.getVersion())).orElse(null));
     }
 
     /**
@@ -166,4 +442,65 @@ public class CarResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private Sort toKeysetSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!CURSOR_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestAlertException("Invalid sort property", ENTITY_NAME, "sortinvalid");
+            }
+        }
+        // the id makes the sort keys unique, so that no car is skipped or repeated between windows
+        return sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+    }
+
+    private void writeNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper
+            .writerFor(CarDTO.class)
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        carService.exportAll(carDTO -> {
+            try {
+                writer.writeValue(generator, carDTO);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.close();
+    }
+
+    private void writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id;name;model;price;owner_id\n");
+        carService.exportAll(carDTO -> {
+            try {
+                writer.write(carDTO.getId().toString());
+                writer.write(CSV_SEPARATOR);
+                writeCsvField(writer, carDTO.getName());
+                writer.write(CSV_SEPARATOR);
+                writeCsvField(writer, carDTO.getModel());
+                writer.write(CSV_SEPARATOR);
+                writer.write(carDTO.getPrice().toPlainString());
+                writer.write(CSV_SEPARATOR);
+                if (carDTO.getOwner() != null) {
+                    writer.write(carDTO.getOwner().getId().toString());
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value.indexOf(CSV_SEPARATOR) < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
 }
@@ -0,0 +1,79 @@
+package com.company.web.rest;
+
+import com.company.service.ImportJobService;
+import com.company.service.dto.ImportJobDTO;
+import com.company.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for importing cars and owners from CSV files, see {@link ImportJobService}.
+ */
+@RestController
+@RequestMapping("/api/import-jobs")
+public class ImportJobResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportJobResource.class);
+
+    private static final String ENTITY_NAME = "importJob";
+
+    private final ImportJobService importJobService;
+
+    public ImportJobResource(ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+
+    /**
+     * {@code POST  /import-jobs} : Start the import of a CSV file in the background.
+     *
+     * @param type the entity to import, {@code CARS} or {@code OWNERS}.
+     * @param file the CSV file, with {@code ;} separated columns and a header line.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the new job, or with status {@code 400 (Bad Request)} if the file is empty.
+     * @throws IOException if the file cannot be spooled.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping(value = "", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> createImportJob(
+        @RequestParam("type") ImportJobDTO.Type type,
+        @RequestParam("file") MultipartFile file
+    ) throws IOException, URISyntaxException {
+        LOG.debug("REST request to import {} from {}", type, file.getOriginalFilename());
+        if (file.isEmpty()) {
+            throw new BadRequestAlertException("The file is empty", ENTITY_NAME, "fileempty");
+        }
+        ImportJobDTO job = importJobService.submit(type, file);
+        return ResponseEntity.accepted().location(new URI("/api/import-jobs/" + job.getId())).body(job);
+    }
+
+    /**
+     * {@code GET  /import-jobs} : get all the import jobs.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobs in body.
+     */
+    @GetMapping("")
+    public List<ImportJobDTO> getAllImportJobs() {
+        LOG.debug("REST request to get all ImportJobs");
+        return importJobService.findAll();
+    }
+
+    /**
+     * {@code GET  /import-jobs/:id} : get the "id" import job, with its progress.
+     *
+     * @param id the id of the job to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable("id") String id) {
+        LOG.debug("REST request to get ImportJob : {}", id);
+        return ResponseUtil.wrapOrNotFound(importJobService.findOne(id));
+    }
+}
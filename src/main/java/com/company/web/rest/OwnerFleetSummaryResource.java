@@ -0,0 +1,74 @@
+package com.company.web.rest;
+
+import com.company.service.OwnerFleetSummaryService;
+import com.company.service.dto.OwnerFleetSummaryDTO;
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for reading {@link com.company.domain.OwnerFleetSummary}.
+ */
+@RestController
+@RequestMapping("/api/owner-fleet-summaries")
+public class OwnerFleetSummaryResource {
+
+    private static final List<String> ALLOWED_ORDERED_PROPERTIES = Collections.unmodifiableList(
+        Arrays.asList("ownerId", "carCount", "totalValue")
+    );
+
+    private static final Logger LOG = LoggerFactory.getLogger(OwnerFleetSummaryResource.class);
+
+    private final OwnerFleetSummaryService ownerFleetSummaryService;
+
+    public OwnerFleetSummaryResource(OwnerFleetSummaryService ownerFleetSummaryService) {
+        this.ownerFleetSummaryService = ownerFleetSummaryService;
+    }
+
+    /**
+     * {@code GET  /owner-fleet-summaries} : get a page of the fleet summaries of the owners.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of summaries in body,
+     * or with status {@code 400 (Bad Request)} if the sort properties are not allowed.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<OwnerFleetSummaryDTO>> getAllOwnerFleetSummaries(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a page of OwnerFleetSummaries");
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Page<OwnerFleetSummaryDTO> page = ownerFleetSummaryService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * {@code GET  /owner-fleet-summaries/:ownerId} : get the fleet summary of the "ownerId" owner.
+     *
+     * @param ownerId the id of the owner.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the summary, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{ownerId}")
+    public ResponseEntity<OwnerFleetSummaryDTO> getOwnerFleetSummary(@PathVariable("ownerId") Long ownerId) {
+        LOG.debug("REST request to get OwnerFleetSummary : {}", ownerId);
+        return ResponseUtil.wrapOrNotFound(ownerFleetSummaryService.findOne(ownerId));
+    }
+
+    private boolean onlyContainsAllowedProperties(Pageable pageable) {
+        return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
+    }
+}
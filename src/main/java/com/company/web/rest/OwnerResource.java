@@ -1,9 +1,10 @@
 package com.company.web.rest;
 
-import com.company.repository.OwnerRepository;
 import com.company.service.OwnerService;
+import com.company.service.dto.ChangesDTO;
 import com.company.service.dto.OwnerDTO;
 import com.company.web.rest.errors.BadRequestAlertException;
+import com.company.web.util.ETagUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -14,8 +15,11 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -30,16 +34,15 @@ public class OwnerResource {
 
     private static final String ENTITY_NAME = "owner";
 
+    private static final int MAX_CHANGES_LIMIT = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final OwnerService ownerService;
 
-    private final OwnerRepository ownerRepository;
-
-    public OwnerResource(OwnerService ownerService, OwnerRepository ownerRepository) {
+    public OwnerResource(OwnerService ownerService) {
         this.ownerService = ownerService;
-        this.ownerRepository = ownerRepository;
     }
 
     /**
@@ -68,13 +71,18 @@ public class OwnerResource {
      * @param ownerDTO the ownerDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated ownerDTO,
      * or with status {@code 400 (Bad Request)} if the ownerDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the ownerDTO is not found,
+     * or with status {@code 409 (Conflict)} if the version of the ownerDTO is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the {@code If-Match} header is not the current ETag,
+     * or with status {@code 428 (Precondition Required)} if the ownerDTO has no version and the request no {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the ownerDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<OwnerDTO> updateOwner(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody OwnerDTO ownerDTO
+        @Valid @RequestBody OwnerDTO ownerDTO,
+        WebRequest webRequest
     ) throws URISyntaxException {
         LOG.debug("REST request to update Owner : {}, {}", id, ownerDTO);
         if (ownerDTO.getId() == null) {
@@ -83,15 +91,13 @@ public class OwnerResource {
         if (!Objects.equals(id, ownerDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        ETagUtil.requireVersion(webRequest, ownerDTO.getVersion());
 
-        if (!ownerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<OwnerDTO> result = ETagUtil.writeIfMatch(webRequest, ownerDTO::setVersion, () -> ownerService.update(ownerDTO));
 
-        ownerDTO = ownerService.update(ownerDTO);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, ownerDTO.getId().toString()))
-            .body(ownerDTO);
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, ownerDTO.getId().toString());
+        result.ifPresent(updatedOwner -> headers.setETag(ETagUtil.eTag(updatedOwner.getVersion())));
+        return ResponseUtil.wrapOrNotFound(result, headers);
     }
 
     /**
@@ -102,13 +108,16 @@ public class OwnerResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated ownerDTO,
      * or with status {@code 400 (Bad Request)} if the ownerDTO is not valid,
      * or with status {@code 404 (Not Found)} if the ownerDTO is not found,
+     * or with status {@code 409 (Conflict)} if the version of the ownerDTO is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the {@code If-Match} header is not the current ETag,
      * or with status {@code 500 (Internal Server Error)} if the ownerDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<OwnerDTO> partialUpdateOwner(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody OwnerDTO ownerDTO
+        @NotNull @RequestBody OwnerDTO ownerDTO,
+        WebRequest webRequest
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Owner partially : {}, {}", id, ownerDTO);
         if (ownerDTO.getId() == null) {
@@ -118,16 +127,11 @@ public class OwnerResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!ownerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<OwnerDTO> result = ownerService.partialUpdate(ownerDTO);
+        Optional<OwnerDTO> result = ETagUtil.writeIfMatch(webRequest, ownerDTO::setVersion, () -> ownerService.partialUpdate(ownerDTO));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, ownerDTO.getId().toString())
-        );
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, ownerDTO.getId().toString());
+        result.ifPresent(updatedOwner -> headers.setETag(ETagUtil.eTag(updatedOwner.getVersion())));
+        return ResponseUtil.wrapOrNotFound(result, headers);
     }
 
     /**
@@ -141,17 +145,54 @@ public class OwnerResource {
         return ownerService.findAll();
     }
 
+    /**
+     * {@code GET  /owners/_changes?revision=:revision&id=:id} : get the owners created, updated or deleted after a revision.
+     * <p>
+     * A client first reads the changes without revision, then reads again from the {@code nextRevision} and
+     * {@code nextId} of the last response, right away while {@code hasMore} is true.
+     *
+     * @param revision the revision to read the changes after.
+     * @param id the id to read the changes of the revision after, if the previous response was cut inside a revision.
+     * @param limit the maximum number of changes.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the changes in body,
+     * or with status {@code 400 (Bad Request)} if the limit is not valid.
+     */
+    @GetMapping("/_changes")
+    public ResponseEntity<ChangesDTO<OwnerDTO>> getOwnersChanges(
+        @RequestParam(name = "revision", defaultValue = "-1") long revision,
+        @RequestParam(name = "id", required = false) Long id,
+        @RequestParam(name = "limit", defaultValue = "500") int limit
+    ) {
+        LOG.debug("REST request to get the changes of Owners after revision : {}, id : {}", revision, id);
+        if (limit < 1 || limit > MAX_CHANGES_LIMIT) {
+            throw new BadRequestAlertException("Invalid changes limit", ENTITY_NAME, "limitinvalid");
+        }
+        return ResponseEntity.ok(ownerService.findChanges(revision, id, limit));
+    }
+
     /**
      * {@code GET  /owners/:id} : get the "id" owner.
      *
      * @param id the id of the ownerDTO to retrieve.
+     * @param webRequest the request, answered with {@code 304 (Not Modified)} if its {@code If-None-Match} header
+     * is the current ETag of the owner.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ownerDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OwnerDTO> getOwner(@PathVariable("id") Long id) {
+    public ResponseEntity<OwnerDTO> getOwner(@PathVariable("id") Long id, WebRequest webRequest) {
         LOG.debug("REST request to get Owner : {}", id);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            // revalidate with the version alone, without loading the owner
+            Optional<Long> version = ownerService.findVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(ETagUtil.eTag(version.orElseThrow()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ETagUtil.REVALIDATE).build();
+            }
+        }
         Optional<OwnerDTO> ownerDTO = ownerService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(ownerDTO);
+        return ResponseUtil.wrapOrNotFound(
+            ownerDTO,
+            ownerDTO.map(foundOwner -> ETagUtil.createETagHeaders(foundOwner.getVersion())).orElse(null)
+        );
     }
 
     /**
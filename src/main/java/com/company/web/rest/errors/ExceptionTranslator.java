@@ -2,7 +2,10 @@ package com.company.web.rest.errors;
 
 import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
 
+import com.company.config.ApplicationProperties;
+import com.company.security.PasswordEncoderBusyException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolationException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collection;
@@ -53,8 +56,11 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
 
     private final Environment env;
 
-    public ExceptionTranslator(Environment env) {
+    private final String passwordEncoderRetryAfter;
+
+    public ExceptionTranslator(Environment env, ApplicationProperties applicationProperties) {
         this.env = env;
+        this.passwordEncoderRetryAfter = String.valueOf(applicationProperties.getPasswordEncoder().getRetryAfter().toSeconds());
     }
 
     @ExceptionHandler
@@ -124,6 +130,11 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
             (problemProperties == null || !problemProperties.containsKey(FIELD_ERRORS_KEY))
         ) problem.setProperty(FIELD_ERRORS_KEY, getFieldErrors(fieldException));
 
+        if (
+            (err instanceof ConstraintViolationException violationException) &&
+            (problemProperties == null || !problemProperties.containsKey(FIELD_ERRORS_KEY))
+        ) problem.setProperty(FIELD_ERRORS_KEY, getFieldErrors(violationException));
+
         problem.setCause(buildCause(err.getCause(), request).orElse(null));
 
         return problem;
@@ -148,6 +159,20 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
             .toList();
     }
 
+    private List<FieldErrorVM> getFieldErrors(ConstraintViolationException ex) {
+        return ex
+            .getConstraintViolations()
+            .stream()
+            .map(violation ->
+                new FieldErrorVM(
+                    StringUtils.uncapitalize(violation.getRootBeanClass().getSimpleName()).replaceFirst("DTO$", ""),
+                    violation.getPropertyPath().toString(),
+                    violation.getMessage()
+                )
+            )
+            .toList();
+    }
+
     private String extractTitleForResponseStatus(Throwable err, int statusCode) {
         ResponseStatus specialStatus = extractResponseStatus(err);
         return specialStatus == null ? HttpStatus.valueOf(statusCode).getReasonPhrase() : specialStatus.reason();
@@ -177,12 +202,14 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private URI getMappedType(Throwable err) {
-        if (err instanceof MethodArgumentNotValidException) return ErrorConstants.CONSTRAINT_VIOLATION_TYPE;
+        if (err instanceof MethodArgumentNotValidException || err instanceof ConstraintViolationException) {
+            return ErrorConstants.CONSTRAINT_VIOLATION_TYPE;
+        }
         return ErrorConstants.DEFAULT_TYPE;
     }
 
     private String getMappedMessageKey(Throwable err) {
-        if (err instanceof MethodArgumentNotValidException) {
+        if (err instanceof MethodArgumentNotValidException || err instanceof ConstraintViolationException) {
             return ErrorConstants.ERR_VALIDATION;
         } else if (err instanceof ConcurrencyFailureException || err.getCause() instanceof ConcurrencyFailureException) {
             return ErrorConstants.ERR_CONCURRENCY_FAILURE;
@@ -209,7 +236,9 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         // Where we disagree with Spring defaults
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
         if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
+        if (err instanceof ConstraintViolationException) return HttpStatus.BAD_REQUEST;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
+        if (err instanceof PasswordEncoderBusyException) return HttpStatus.SERVICE_UNAVAILABLE;
         return null;
     }
 
@@ -219,6 +248,11 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
+        if (err instanceof PasswordEncoderBusyException) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, passwordEncoderRetryAfter);
+            return headers;
+        }
         return err instanceof BadRequestAlertException badRequestAlertException
             ? HeaderUtil.createFailureAlert(
                 applicationName,
@@ -0,0 +1,117 @@
+package com.company.web.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Utility class for keyset (cursor) pagination.
+ * <p>
+ * A cursor is the URL-safe Base64 form of the sort key values of the last element of a {@link Window},
+ * so that clients can request the next window without knowing how it is built.
+ */
+public final class CursorUtil {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final byte LONG = 'L';
+    private static final byte STRING = 'S';
+    private static final byte DECIMAL = 'D';
+
+    private CursorUtil() {}
+
+    /**
+     * Generate the headers for a window of results, exposing the cursor of the next window if there is one.
+     *
+     * @param window the window of results.
+     * @return http headers.
+     */
+    public static HttpHeaders generateCursorHttpHeaders(Window<?> window) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty()) {
+            ScrollPosition position = window.positionAt(window.size() - 1);
+            if (position instanceof KeysetScrollPosition keysetPosition) {
+                headers.add(NEXT_CURSOR_HEADER, encode(keysetPosition));
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Encode a keyset position as an opaque cursor.
+     *
+     * @param position the keyset position.
+     * @return the cursor.
+     */
+    public static String encode(KeysetScrollPosition position) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(position.getKeys().size());
+            for (Map.Entry<String, ?> key : position.getKeys().entrySet()) {
+                out.writeUTF(key.getKey());
+                Object value = key.getValue();
+                if (value instanceof Long longValue) {
+                    out.writeByte(LONG);
+                    out.writeLong(longValue);
+                } else if (value instanceof BigDecimal decimalValue) {
+                    out.writeByte(DECIMAL);
+                    out.writeUTF(decimalValue.toPlainString());
+                } else if (value instanceof String stringValue) {
+                    out.writeByte(STRING);
+                    out.writeUTF(stringValue);
+                } else {
+                    throw new IllegalArgumentException("Unsupported cursor key type for " + key.getKey());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decode a cursor created by {@link #encode(KeysetScrollPosition)}.
+     *
+     * @param cursor the cursor, {@code null} or empty for the first window.
+     * @return the keyset position to scroll forward from.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            int size = in.readUnsignedByte();
+            for (int i = 0; i < size; i++) {
+                String name = in.readUTF();
+                byte type = in.readByte();
+                Object value =
+                    switch (type) {
+                        case LONG -> in.readLong();
+                        case DECIMAL -> new BigDecimal(in.readUTF());
+                        case STRING -> in.readUTF();
+                        default -> throw new IllegalArgumentException("Unknown cursor key type");
+                    };
+                keys.put(name, value);
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Trailing data in cursor");
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
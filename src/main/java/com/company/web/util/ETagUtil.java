@@ -0,0 +1,117 @@
+package com.company.web.util;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utility class for the strong ETags of versioned entities.
+ * <p>
+ * The ETag of an entity is its version in quotes, so that a client can revalidate it with {@code If-None-Match}
+ * and make its writes conditional with {@code If-Match}.
+ */
+public final class ETagUtil {
+
+    /**
+     * The {@code Cache-Control} of the ETagged responses: the client may keep them, but must revalidate them with
+     * {@code If-None-Match} before each use. It replaces the {@code no-store} default of Spring Security, under which
+     * a client never has a body to revalidate.
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETagUtil() {}
+
+    /**
+     * @param version the version of the entity.
+     * @return its ETag.
+     */
+    public static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param version the version of the entity.
+     * @return http headers with its ETag, and a {@code Cache-Control} that lets the client keep and revalidate it.
+     */
+    public static HttpHeaders createETagHeaders(Long version) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag(version));
+        headers.setCacheControl(REVALIDATE);
+        return headers;
+    }
+
+    /**
+     * Get the version that the {@code If-Match} precondition of a write requires.
+     * <p>
+     * The write can only be made conditional on one version, so a list of several ETags, like a weak or malformed
+     * one, fails the precondition.
+     *
+     * @param webRequest the write request.
+     * @return the version of the {@code If-Match} ETag, or {@code null} if the request has no {@code If-Match} header
+     * or an {@code If-Match: *} one.
+     * @throws ErrorResponseException {@code 412 (Precondition Failed)} if the {@code If-Match} header cannot match
+     * a version.
+     */
+    public static Long ifMatchVersion(WebRequest webRequest) {
+        String[] ifMatch = webRequest.getHeaderValues(HttpHeaders.IF_MATCH);
+        if (ifMatch == null) {
+            return null;
+        }
+        String tag = String.join(",", ifMatch).trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not one of our ETags
+            }
+        }
+        throw new ErrorResponseException(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Require a full update to be conditional, on the version of its body or on its {@code If-Match} header, so
+     * that it cannot silently overwrite a concurrent write. An {@code If-Match: *} header asks to overwrite any version.
+     *
+     * @param webRequest the write request.
+     * @param version the version of the body of the request.
+     * @throws ErrorResponseException {@code 428 (Precondition Required)} if the request has neither.
+     */
+    public static void requireVersion(WebRequest webRequest, Long version) {
+        if (version == null && webRequest.getHeader(HttpHeaders.IF_MATCH) == null) {
+            throw new ErrorResponseException(HttpStatus.PRECONDITION_REQUIRED);
+        }
+    }
+
+    /**
+     * Run a write, conditional on the version of the {@code If-Match} header of its request if it has one.
+     *
+     * @param webRequest the write request.
+     * @param expectedVersion the consumer of the version the write is conditional on.
+     * @param write the write, which fails with a {@link ConcurrencyFailureException} if the version is not the
+     * current one.
+     * @param <T> the type of the result of the write.
+     * @return the result of the write.
+     * @throws ErrorResponseException {@code 412 (Precondition Failed)} if the {@code If-Match} header is not the
+     * current ETag.
+     */
+    public static <T> T writeIfMatch(WebRequest webRequest, Consumer<Long> expectedVersion, Supplier<T> write) {
+        Long version = ifMatchVersion(webRequest);
+        if (version == null) {
+            return write.get();
+        }
+        expectedVersion.accept(version);
+        try {
+            return write.get();
+        } catch (ConcurrencyFailureException e) {
+            throw new ErrorResponseException(HttpStatus.PRECONDITION_FAILED, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.company.aop.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ProfilingAspect}.
+ */
+class ProfilingAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SlowInvocationLog slowInvocations = new SlowInvocationLog(10);
+
+    private static ProceedingJoinPoint joinPoint(Class<?> type, String name) throws Exception {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getDeclaringType()).thenReturn(type);
+        when(signature.getName()).thenReturn(name);
+        when(signature.getMethod()).thenReturn(type.getMethod(name));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        return joinPoint;
+    }
+
+    @Test
+    void shouldRecordTheSampledInvocationsInATimer() throws Throwable {
+        ProfilingAspect aspect = new ProfilingAspect(meterRegistry, slowInvocations, 1, Duration.ofSeconds(10));
+        ProceedingJoinPoint joinPoint = joinPoint(Resource.class, "get");
+        when(joinPoint.proceed()).thenReturn("car");
+
+        assertThat(aspect.profileAround(joinPoint)).isEqualTo("car");
+        aspect.profileAround(joinPoint);
+
+        assertThat(meterRegistry.get("method.invocation").tag("class", "Resource").tag("method", "get").timer().count()).isEqualTo(2);
+        assertThat(slowInvocations.snapshot()).isEmpty();
+    }
+
+    @Test
+    void shouldKeepTheSlowInvocationsEvenWhenNotSampled() throws Throwable {
+        ProfilingAspect aspect = new ProfilingAspect(meterRegistry, slowInvocations, 0, Duration.ZERO);
+        ProceedingJoinPoint serviceJoinPoint = joinPoint(Service.class, "save");
+        when(serviceJoinPoint.proceed()).thenThrow(new IllegalStateException("Boom"));
+        ProceedingJoinPoint resourceJoinPoint = joinPoint(Resource.class, "get");
+        when(resourceJoinPoint.proceed()).thenAnswer(invocation -> {
+            try {
+                return aspect.profileAround(serviceJoinPoint);
+            } catch (IllegalStateException e) {
+                return "recovered";
+            }
+        });
+
+        assertThat(aspect.profileAround(resourceJoinPoint)).isEqualTo("recovered");
+
+        assertThat(meterRegistry.find("method.invocation").timers()).isEmpty();
+        assertThat(slowInvocations.snapshot())
+            .extracting(SlowInvocation::method, SlowInvocation::rootMethod, SlowInvocation::failed)
+            .containsExactly(
+                tuple("Resource.get", "Resource.get", false),
+                tuple("Service.save", "Resource.get", true)
+            );
+    }
+
+    @Test
+    void shouldForgetTheRootMethodOnceFinished() throws Throwable {
+        ProfilingAspect aspect = new ProfilingAspect(meterRegistry, slowInvocations, 0, Duration.ZERO);
+        ProceedingJoinPoint serviceJoinPoint = joinPoint(Service.class, "save");
+        when(serviceJoinPoint.proceed()).thenThrow(new IllegalStateException("Boom"));
+
+        assertThatIllegalStateException().isThrownBy(() -> aspect.profileAround(serviceJoinPoint));
+        aspect.profileAround(joinPoint(Resource.class, "get"));
+
+        assertThat(slowInvocations.snapshot()).extracting(SlowInvocation::rootMethod).containsExactly("Resource.get", "Service.save");
+    }
+
+    public static class Resource {
+
+        public String get() {
+            return "car";
+        }
+    }
+
+    public static class Service {
+
+        public void save() {}
+    }
+}
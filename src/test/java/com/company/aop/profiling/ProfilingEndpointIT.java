@@ -0,0 +1,71 @@
+package com.company.aop.profiling;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.company.IntegrationTest;
+import com.company.security.AuthoritiesConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link ProfilingEndpoint}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@TestPropertySource(
+    properties = {
+        "management.endpoints.web.base-path=/management",
+        "management.endpoints.web.exposure.include=profiling",
+        "application.profiling.slow-threshold=0ms"
+    }
+)
+class ProfilingEndpointIT {
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private SlowInvocationLog slowInvocationLog;
+
+    @BeforeEach
+    void clearSlowInvocations() {
+        slowInvocationLog.clear();
+    }
+
+    @Test
+    void shouldGiveTheServiceInvocationsOfARequest() throws Exception {
+        restMockMvc.perform(get("/api/cars/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        restMockMvc
+            .perform(get("/management/profiling"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.slowThresholdMillis").value(0))
+            .andExpect(jsonPath("$.slowInvocations[*].method").value(hasItem("CarService.findOne")))
+            .andExpect(jsonPath("$.slowInvocations[*].rootMethod").value(hasItem("CarResource.getCar")));
+    }
+
+    @Test
+    void shouldClearTheSlowInvocations() throws Exception {
+        restMockMvc.perform(get("/api/cars/{id}", Long.MAX_VALUE));
+
+        restMockMvc.perform(delete("/management/profiling")).andExpect(status().isNoContent());
+
+        restMockMvc.perform(get("/management/profiling")).andExpect(status().isOk()).andExpect(jsonPath("$.slowInvocations").isEmpty());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldBeRestrictedToAdmins() throws Exception {
+        restMockMvc.perform(get("/management/profiling")).andExpect(status().isForbidden());
+    }
+}
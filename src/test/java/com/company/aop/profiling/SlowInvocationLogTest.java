@@ -0,0 +1,49 @@
+package com.company.aop.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SlowInvocationLog}.
+ */
+class SlowInvocationLogTest {
+
+    private static SlowInvocation invocation(String method) {
+        return new SlowInvocation(Instant.now(), method, 600, "main", method, false);
+    }
+
+    @Test
+    void shouldKeepTheLastInvocationsMostRecentFirst() {
+        SlowInvocationLog log = new SlowInvocationLog(3);
+        assertThat(log.snapshot()).isEmpty();
+
+        log.add(invocation("CarService.save"));
+        log.add(invocation("CarService.update"));
+        assertThat(log.snapshot()).extracting(SlowInvocation::method).containsExactly("CarService.update", "CarService.save");
+
+        log.add(invocation("CarService.delete"));
+        log.add(invocation("UserService.registerUser"));
+        assertThat(log.snapshot())
+            .extracting(SlowInvocation::method)
+            .containsExactly("UserService.registerUser", "CarService.delete", "CarService.update");
+    }
+
+    @Test
+    void shouldClearTheInvocations() {
+        SlowInvocationLog log = new SlowInvocationLog(3);
+        log.add(invocation("CarService.save"));
+
+        log.clear();
+
+        assertThat(log.snapshot()).isEmpty();
+        assertThat(log.capacity()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRejectAnEmptyLog() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new SlowInvocationLog(0));
+    }
+}
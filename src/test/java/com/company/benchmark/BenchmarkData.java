@@ -0,0 +1,78 @@
+package com.company.benchmark;
+
+import com.company.domain.Car;
+import com.company.domain.Owner;
+import com.company.service.dto.AdminUserDTO;
+import com.company.service.dto.CarDTO;
+import com.company.service.dto.OwnerDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entities and DTOs of the benchmarks that need no database, filled like the ones of the application.
+ */
+final class BenchmarkData {
+
+    private static final int CARS_PER_OWNER = 5;
+
+    private BenchmarkData() {}
+
+    static List<Car> cars(int count) {
+        List<Car> cars = new ArrayList<>(count);
+        Owner owner = null;
+        for (int i = 0; i < count; i++) {
+            if (i % CARS_PER_OWNER == 0) {
+                owner = new Owner().name("Owner " + i).gender(i % 2 == 0 ? "female" : "male");
+                owner.setId((long) i);
+                owner.setVersion(0L);
+            }
+            Car car = new Car().name("Car " + i).model("Model " + (i % 7)).price(BigDecimal.valueOf(10000 + i * 25L, 2)).owner(owner);
+            car.setId((long) i);
+            car.setVersion((long) i % 3);
+            cars.add(car);
+        }
+        return cars;
+    }
+
+    static List<CarDTO> carDTOs(int count) {
+        List<CarDTO> cars = new ArrayList<>(count);
+        for (Car car : cars(count)) {
+            OwnerDTO owner = new OwnerDTO();
+            owner.setId(car.getOwner().getId());
+            CarDTO carDTO = new CarDTO();
+            carDTO.setId(car.getId());
+            carDTO.setName(car.getName());
+            carDTO.setModel(car.getModel());
+            carDTO.setPrice(car.getPrice());
+            carDTO.setOwner(owner);
+            carDTO.setVersion(car.getVersion());
+            cars.add(carDTO);
+        }
+        return cars;
+    }
+
+    static List<AdminUserDTO> adminUserDTOs(int count) {
+        Instant createdDate = Instant.parse("2026-01-01T00:00:00Z");
+        List<AdminUserDTO> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AdminUserDTO user = new AdminUserDTO();
+            user.setId((long) i);
+            user.setLogin("user-" + i);
+            user.setFirstName("First " + i);
+            user.setLastName("Last " + i);
+            user.setEmail("user-" + i + "@localhost");
+            user.setActivated(true);
+            user.setLangKey("en");
+            user.setCreatedBy("system");
+            user.setCreatedDate(createdDate);
+            user.setLastModifiedBy("admin");
+            user.setLastModifiedDate(createdDate.plusSeconds(i));
+            user.setAuthorities(i % 10 == 0 ? Set.of("ROLE_USER", "ROLE_ADMIN") : Set.of("ROLE_USER"));
+            users.add(user);
+        }
+        return users;
+    }
+}
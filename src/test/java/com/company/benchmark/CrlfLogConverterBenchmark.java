@@ -0,0 +1,65 @@
+package com.company.benchmark;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.company.config.CRLFLogConverter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of the {@link CRLFLogConverter}, applied to the message of each log event of the console.
+ * <p>
+ * Most messages have no line breaks to escape: {@code plain} is a request log message, {@code crlf} the same message
+ * with a CRLF from a request parameter. Run with {@code -prof gc}: the {@code plain} messages are returned as is, so
+ * {@code gc.alloc.rate.norm} must stay at 0 bytes per operation. No application context nor database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CrlfLogConverterBenchmark {
+
+    private static final Map<String, String> MESSAGES = Map.of(
+        "plain",
+        "REST request to get a page of Cars: CarCriteria{name=StringFilter [contains=Model 3], page=0, size=20}",
+        "crlf",
+        "REST request to get a page of Cars: CarCriteria{name=StringFilter [contains=Model 3\r\nINFO forged], page=0, size=20}"
+    );
+
+    @Param({ "plain", "crlf" })
+    private String message;
+
+    private ExposedCRLFLogConverter converter;
+
+    private ILoggingEvent event;
+
+    private String in;
+
+    @Setup
+    public void setUp() {
+        converter = new ExposedCRLFLogConverter();
+        converter.setOptionList(List.of("red"));
+        LoggingEvent loggingEvent = new LoggingEvent();
+        loggingEvent.setLoggerName("com.company.web.rest.CarResource");
+        loggingEvent.setMessage(MESSAGES.get(message));
+        event = loggingEvent;
+        in = MESSAGES.get(message);
+    }
+
+    @Benchmark
+    public String transform() {
+        return converter.transform(event, in);
+    }
+
+    private static class ExposedCRLFLogConverter extends CRLFLogConverter {
+
+        @Override
+        protected String transform(ILoggingEvent event, String in) {
+            return super.transform(event, in);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.company.config.ApplicationProperties;
+import com.company.web.rest.errors.BadRequestAlertException;
+import com.company.web.rest.errors.ExceptionTranslator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * Benchmark of the problem details built by the {@link ExceptionTranslator} from the exceptions of the REST
+ * resources: {@code badRequest} for the invalid input, {@code accessDenied}, {@code concurrencyFailure} for the
+ * stale versions and {@code internal} for the unexpected exceptions with a cause.
+ * <p>
+ * No application context nor database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExceptionTranslatorBenchmark {
+
+    private static final Map<String, Supplier<Throwable>> EXCEPTIONS = Map.of(
+        "badRequest",
+        () -> new BadRequestAlertException("Invalid id", "car", "idnull"),
+        "accessDenied",
+        () -> new AccessDeniedException("Access Denied"),
+        "concurrencyFailure",
+        () -> new OptimisticLockingFailureException("Row was updated or deleted by another transaction"),
+        "internal",
+        () -> new IllegalStateException("Unexpected state", new IllegalArgumentException("Invalid argument"))
+    );
+
+    @Param({ "badRequest", "accessDenied", "concurrencyFailure", "internal" })
+    private String exception;
+
+    private ExceptionTranslator exceptionTranslator;
+
+    private Throwable throwable;
+
+    private NativeWebRequest request;
+
+    @Setup
+    public void setUp() {
+        // The failure alerts of the bad requests are logged, which would be measured instead
+        ((Logger) LoggerFactory.getLogger(HeaderUtil.class)).setLevel(Level.OFF);
+        exceptionTranslator = new ExceptionTranslator(new MockEnvironment(), new ApplicationProperties());
+        ReflectionTestUtils.setField(exceptionTranslator, "applicationName", "demoApp");
+        throwable = EXCEPTIONS.get(exception).get();
+        request = new ServletWebRequest(new MockHttpServletRequest("PUT", "/api/cars/1"));
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> handle() {
+        return exceptionTranslator.handleAnyException(throwable, request);
+    }
+}
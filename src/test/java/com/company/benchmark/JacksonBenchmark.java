@@ -0,0 +1,74 @@
+package com.company.benchmark;
+
+import com.company.config.JacksonConfiguration;
+import com.company.service.dto.AdminUserDTO;
+import com.company.service.dto.CarDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark of the JSON serialization of the pages of cars and users, with the modules of the
+ * {@link JacksonConfiguration}, and of the deserialization of the cars.
+ * <p>
+ * The {@link ObjectMapper} is built like the Spring Boot one, without the {@code indent-output} of the {@code dev}
+ * profile. No application context nor database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JacksonBenchmark {
+
+    @Param({ "20", "1000" })
+    private int size;
+
+    private ObjectWriter carsWriter;
+
+    private ObjectWriter usersWriter;
+
+    private ObjectReader carsReader;
+
+    private List<CarDTO> cars;
+
+    private List<AdminUserDTO> users;
+
+    private byte[] carsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(), jacksonConfiguration.hibernate6Module())
+            .build();
+        carsWriter = objectMapper.writerFor(new TypeReference<List<CarDTO>>() {});
+        usersWriter = objectMapper.writerFor(new TypeReference<List<AdminUserDTO>>() {});
+        carsReader = objectMapper.readerFor(new TypeReference<List<CarDTO>>() {});
+        cars = BenchmarkData.carDTOs(size);
+        users = BenchmarkData.adminUserDTOs(size);
+        carsJson = carsWriter.writeValueAsBytes(cars);
+    }
+
+    @Benchmark
+    public byte[] writeCars() throws IOException {
+        return carsWriter.writeValueAsBytes(cars);
+    }
+
+    @Benchmark
+    public byte[] writeUsers() throws IOException {
+        return usersWriter.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public List<CarDTO> readCars() throws IOException {
+        return carsReader.readValue(carsJson);
+    }
+}
@@ -0,0 +1,83 @@
+package com.company.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JSON reports of the JMH benchmarks, for instance the ones of two releases, and prints the change of
+ * the score of each benchmark and parameters found in both.
+ * <p>
+ * A change is only reported as a regression or an improvement when it is over the threshold, in percent, and over
+ * the sum of the errors of both scores. Higher is better for the throughput benchmarks, lower for the others.
+ * <pre>
+ * ./mvnw -Pjmh,-webapp test-compile exec:exec@jmh-compare -Djmh.baseline=jmh-result-1.0.json -Djmh.result=jmh-result-1.1.json
+ * </pre>
+ */
+public final class JmhResultComparison {
+
+    private static final double DEFAULT_THRESHOLD = 5;
+
+    private JmhResultComparison() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultComparison <baseline.json> <result.json> [threshold percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> result = read(new File(args[1]));
+
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Result", "Change");
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : result.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14s %9s%n", entry.getKey(), "-", score(entry.getValue()), "new");
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double beforeScore = before.at("/primaryMetric/score").asDouble();
+            double afterScore = after.at("/primaryMetric/score").asDouble();
+            double change = (afterScore - beforeScore) * 100 / beforeScore;
+            double error = scoreError(before) + scoreError(after);
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            String verdict = "";
+            if (Math.abs(change) > threshold && Math.abs(afterScore - beforeScore) > error) {
+                boolean better = higherIsBetter == afterScore > beforeScore;
+                verdict = better ? "  improvement" : "  REGRESSION";
+                if (!better) {
+                    regressions++;
+                }
+            }
+            System.out.printf("%-90s %14s %14s %+8.1f%%%s%n", entry.getKey(), score(before), score(after), change, verdict);
+        }
+        baseline.keySet().stream().filter(key -> !result.containsKey(key)).forEach(key -> System.out.printf("%-90s removed%n", key));
+        System.out.printf("%d regression(s) over %.1f%%%n", regressions, threshold);
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> benchmarks = new LinkedHashMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(file)) {
+            String name = benchmark.path("benchmark").asText().replace("com.company.benchmark.", "");
+            Map<String, String> params = new TreeMap<>();
+            benchmark.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            benchmarks.put(params.isEmpty() ? name : name + " " + params, benchmark);
+        }
+        return benchmarks;
+    }
+
+    private static String score(JsonNode benchmark) {
+        return String.format("%.3f", benchmark.at("/primaryMetric/score").asDouble());
+    }
+
+    private static double scoreError(JsonNode benchmark) {
+        double error = benchmark.at("/primaryMetric/scoreError").asDouble();
+        return Double.isFinite(error) ? error : 0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.company.benchmark;
+
+import com.company.config.ApplicationProperties;
+import com.company.config.SecurityJwtConfiguration;
+import com.company.management.SecurityMetersService;
+import com.company.security.CachingJwtDecoder;
+import com.company.web.rest.AuthenticateController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Benchmark of the decoding of the tokens presented with each request, by the {@link NimbusJwtDecoder} alone and
+ * through the {@link CachingJwtDecoder}, as configured by the {@link SecurityJwtConfiguration}.
+ * <p>
+ * Each operation decodes one of {@code users} tokens in turn, as when that many users send requests. No application
+ * context nor database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtDecoderBenchmark {
+
+    static final String JWT_KEY =
+        "bXktc2VjcmV0LWtleS13aGljaC1zaG91bGQtYmUtY2hhbmdlZC1pbi1wcm9kdWN0aW9uLWFuZC1iZS1iYXNlNjQtZW5jb2RlZAo=";
+
+    @Param({ "false", "true" })
+    private boolean cached;
+
+    @Param({ "1", "1000" })
+    private int users;
+
+    private JwtDecoder jwtDecoder;
+
+    private String[] tokens;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SecurityJwtConfiguration securityJwtConfiguration = securityJwtConfiguration();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getJwtCache().setEnabled(cached);
+        jwtDecoder = securityJwtConfiguration.jwtDecoder(new SecurityMetersService(meterRegistry), applicationProperties, meterRegistry);
+
+        AuthenticateController authenticateController = authenticateController(securityJwtConfiguration);
+        tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = authenticateController.createToken(
+                new UsernamePasswordAuthenticationToken("user-" + i, null, AuthorityUtils.createAuthorityList("ROLE_USER")),
+                false
+            );
+        }
+    }
+
+    static SecurityJwtConfiguration securityJwtConfiguration() {
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", JWT_KEY);
+        return securityJwtConfiguration;
+    }
+
+    static AuthenticateController authenticateController(SecurityJwtConfiguration securityJwtConfiguration) {
+        AuthenticateController authenticateController = new AuthenticateController(securityJwtConfiguration.jwtEncoder(), null);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSeconds", 86400L);
+        return authenticateController;
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        String token = tokens[next];
+        next = (next + 1) % users;
+        return jwtDecoder.decode(token);
+    }
+}
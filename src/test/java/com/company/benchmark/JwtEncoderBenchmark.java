@@ -0,0 +1,43 @@
+package com.company.benchmark;
+
+import com.company.config.SecurityJwtConfiguration;
+import com.company.web.rest.AuthenticateController;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+/**
+ * Benchmark of the creation of the token returned by {@code POST /api/authenticate}, with the encoder of the
+ * {@link SecurityJwtConfiguration}.
+ * <p>
+ * No application context nor database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtEncoderBenchmark {
+
+    private AuthenticateController authenticateController;
+
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() {
+        authenticateController = JwtDecoderBenchmark.authenticateController(JwtDecoderBenchmark.securityJwtConfiguration());
+        authentication = new UsernamePasswordAuthenticationToken(
+            "admin",
+            null,
+            AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER")
+        );
+    }
+
+    @Benchmark
+    public String encode() {
+        return authenticateController.createToken(authentication, false);
+    }
+}
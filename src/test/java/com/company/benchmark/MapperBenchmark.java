@@ -0,0 +1,62 @@
+package com.company.benchmark;
+
+import com.company.domain.Car;
+import com.company.domain.Owner;
+import com.company.service.dto.CarDTO;
+import com.company.service.dto.OwnerDTO;
+import com.company.service.mapper.CarMapper;
+import com.company.service.mapper.CarMapperImpl;
+import com.company.service.mapper.OwnerMapper;
+import com.company.service.mapper.OwnerMapperImpl;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark of the MapStruct mappings of the cars and owners, on a page of {@code size} entities or DTOs.
+ * <p>
+ * No application context nor database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({ "20", "1000" })
+    private int size;
+
+    private final CarMapper carMapper = new CarMapperImpl();
+
+    private final OwnerMapper ownerMapper = new OwnerMapperImpl();
+
+    private List<Car> cars;
+
+    private List<CarDTO> carDTOs;
+
+    private List<Owner> owners;
+
+    @Setup
+    public void setUp() {
+        cars = BenchmarkData.cars(size);
+        carDTOs = BenchmarkData.carDTOs(size);
+        owners = cars.stream().map(Car::getOwner).distinct().toList();
+    }
+
+    @Benchmark
+    public List<CarDTO> carsToDto() {
+        return carMapper.toDto(cars);
+    }
+
+    @Benchmark
+    public List<Car> carsToEntity() {
+        return carMapper.toEntity(carDTOs);
+    }
+
+    @Benchmark
+    public List<OwnerDTO> ownersToDto() {
+        return ownerMapper.toDto(owners);
+    }
+}
@@ -0,0 +1,127 @@
+package com.company.benchmark;
+
+import com.company.DemoApp;
+import com.company.domain.Car;
+import com.company.repository.CarRepository;
+import com.company.service.CarService;
+import com.company.service.OwnerFleetSummaryService;
+import com.company.service.OwnerService;
+import com.company.service.dto.CarDTO;
+import com.company.service.dto.OwnerDTO;
+import com.company.service.mapper.CarMapper;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmark of the price-only merge patches of cars, written with a single column-level {@code UPDATE} statement,
+ * against loading the car, updating it with MapStruct and flushing it.
+ * <p>
+ * The application is started with the {@code dev} profile, so the dev database must be running. The load-then-save
+ * path keeps the owner fleet summaries up to date but, unlike {@link CarService#partialUpdate(CarDTO)}, does not
+ * clear the search caches nor publish the change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PartialUpdateBenchmark {
+
+    private static final String NAME_PREFIX = "jmh-patch-";
+
+    @Param({ "100" })
+    private int cars;
+
+    private ConfigurableApplicationContext context;
+
+    private CarService carService;
+
+    private CarRepository carRepository;
+
+    private CarMapper carMapper;
+
+    private OwnerFleetSummaryService ownerFleetSummaryService;
+
+    private TransactionTemplate transaction;
+
+    private List<Long> carIds;
+
+    private long patches;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(DemoApp.class)
+            .profiles("dev")
+            .properties("server.port=0", "spring.docker.compose.enabled=false")
+            .run();
+        carService = context.getBean(CarService.class);
+        carRepository = context.getBean(CarRepository.class);
+        carMapper = context.getBean(CarMapper.class);
+        ownerFleetSummaryService = context.getBean(OwnerFleetSummaryService.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        OwnerDTO owner = new OwnerDTO();
+        owner.setName(NAME_PREFIX + "owner");
+        owner.setGender("x");
+        context.getBean(OwnerService.class).upsertByName(List.of(owner));
+        owner.setId(
+            context.getBean(JdbcClient.class).sql("select id from owner where name = ?").param(owner.getName()).query(Long.class).single()
+        );
+        List<CarDTO> carDTOs = new ArrayList<>();
+        for (int i = 0; i < cars; i++) {
+            CarDTO car = new CarDTO();
+            car.setName(NAME_PREFIX + i);
+            car.setModel("model " + (i % 7));
+            car.setPrice(BigDecimal.valueOf(i * 100L, 2));
+            car.setOwner(owner);
+            carDTOs.add(car);
+        }
+        carService.upsertByName(carDTOs);
+        carIds = carRepository.findAllByNameIn(carDTOs.stream().map(CarDTO::getName).toList()).stream().map(Car::getId).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        JdbcClient jdbcClient = context.getBean(JdbcClient.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            jdbcClient.sql("delete from car where name like :prefix").param("prefix", NAME_PREFIX + "%").update();
+            jdbcClient.sql("delete from owner where name like :prefix").param("prefix", NAME_PREFIX + "%").update();
+        });
+        context.close();
+    }
+
+    @Benchmark
+    public CarDTO patchPriceWithUpdateStatement() {
+        return carService.partialUpdate(nextPatch()).orElseThrow();
+    }
+
+    @Benchmark
+    public CarDTO patchPriceWithLoadedEntity() {
+        CarDTO patch = nextPatch();
+        return transaction.execute(status -> {
+            Car car = carRepository.findById(patch.getId()).orElseThrow();
+            ownerFleetSummaryService.removeCar(car);
+            carMapper.partialUpdate(car, patch);
+            ownerFleetSummaryService.addCar(car);
+            return carMapper.toDto(carRepository.saveAndFlush(car));
+        });
+    }
+
+    private CarDTO nextPatch() {
+        long patch = patches++;
+        CarDTO carDTO = new CarDTO();
+        carDTO.setId(carIds.get((int) (patch % carIds.size())));
+        carDTO.setPrice(BigDecimal.valueOf(patch % 100_000, 2));
+        return carDTO;
+    }
+}
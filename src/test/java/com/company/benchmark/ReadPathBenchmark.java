@@ -0,0 +1,136 @@
+package com.company.benchmark;
+
+import com.company.DemoApp;
+import com.company.domain.Owner;
+import com.company.repository.CarRepository;
+import com.company.repository.OwnerRepository;
+import com.company.service.CarService;
+import com.company.service.OwnerService;
+import com.company.service.dto.CarDTO;
+import com.company.service.dto.OwnerDTO;
+import com.company.service.mapper.CarMapper;
+import com.company.service.mapper.OwnerMapper;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmark of the read paths mapping rows straight to DTOs, against loading the entities and mapping them
+ * with MapStruct.
+ * <p>
+ * The application is started with the {@code dev} profile, so the dev database must be running; run with
+ * {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final String NAME_PREFIX = "jmh-";
+
+    @Param({ "1000" })
+    private int cars;
+
+    private ConfigurableApplicationContext context;
+
+    private CarService carService;
+
+    private OwnerService ownerService;
+
+    private CarRepository carRepository;
+
+    private OwnerRepository ownerRepository;
+
+    private CarMapper carMapper;
+
+    private OwnerMapper ownerMapper;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(DemoApp.class)
+            .profiles("dev")
+            .properties("server.port=0", "spring.docker.compose.enabled=false")
+            .run();
+        carService = context.getBean(CarService.class);
+        ownerService = context.getBean(OwnerService.class);
+        carRepository = context.getBean(CarRepository.class);
+        ownerRepository = context.getBean(OwnerRepository.class);
+        carMapper = context.getBean(CarMapper.class);
+        ownerMapper = context.getBean(OwnerMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        List<OwnerDTO> owners = new ArrayList<>();
+        for (int i = 0; i < cars / 10; i++) {
+            OwnerDTO owner = new OwnerDTO();
+            owner.setName(NAME_PREFIX + i);
+            owner.setGender("x");
+            owners.add(owner);
+        }
+        ownerService.upsertByName(owners);
+        List<Long> ownerIds = ownerRepository
+            .findAllByNameIn(owners.stream().map(OwnerDTO::getName).toList())
+            .stream()
+            .map(Owner::getId)
+            .toList();
+        List<CarDTO> carDTOs = new ArrayList<>();
+        for (int i = 0; i < cars; i++) {
+            CarDTO car = new CarDTO();
+            car.setName(NAME_PREFIX + i);
+            car.setModel("model " + (i % 7));
+            car.setPrice(BigDecimal.valueOf(i * 100L, 2));
+            OwnerDTO owner = new OwnerDTO();
+            owner.setId(ownerIds.get(i % ownerIds.size()));
+            car.setOwner(owner);
+            carDTOs.add(car);
+        }
+        carService.upsertByName(carDTOs);
+    }
+
+    @TearDown
+    public void tearDown() {
+        JdbcClient jdbcClient = context.getBean(JdbcClient.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            jdbcClient.sql("delete from car where name like :prefix").param("prefix", NAME_PREFIX + "%").update();
+            jdbcClient.sql("delete from owner where name like :prefix").param("prefix", NAME_PREFIX + "%").update();
+        });
+        context.close();
+    }
+
+    @Benchmark
+    public void exportCarsWithEntities(Blackhole blackhole) {
+        readOnlyTransaction.executeWithoutResult(status ->
+            carRepository.findAll(Sort.by("id")).forEach(car -> blackhole.consume(carMapper.toDto(car)))
+        );
+    }
+
+    @Benchmark
+    public void exportCarsWithProjection(Blackhole blackhole) {
+        carService.exportAll(blackhole::consume);
+    }
+
+    @Benchmark
+    public List<OwnerDTO> findAllOwnersWithEntities() {
+        return readOnlyTransaction.execute(status -> ownerRepository.findAll().stream().map(ownerMapper::toDto).toList());
+    }
+
+    @Benchmark
+    public List<OwnerDTO> findAllOwnersWithProjection() {
+        return ownerService.findAll();
+    }
+}
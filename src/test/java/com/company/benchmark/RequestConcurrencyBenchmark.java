@@ -0,0 +1,108 @@
+package com.company.benchmark;
+
+import com.company.DemoApp;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+/**
+ * Load test of the requests handled by the Undertow worker threads, against virtual threads.
+ * <p>
+ * Each operation sends {@code concurrency} requests at once and waits for all of them. The {@code wait} endpoint
+ * blocks for {@code waitMillis} without using the database, like a request waiting for a mail or remote server; the
+ * {@code cars} endpoint reads a page of cars, so it also waits for a database connection. The application is
+ * started with the {@code dev} profile, so the dev database must be running, and virtual threads are only used
+ * on Java 21+: run with {@code -jvm} pointing to a Java 21 {@code java} executable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestConcurrencyBenchmark {
+
+    private static final Map<String, String> PATHS = Map.of("wait", "/api/benchmark/wait", "cars", "/api/cars?size=20");
+
+    @Param({ "false", "true" })
+    private boolean virtualThreads;
+
+    @Param({ "wait", "cars" })
+    private String endpoint;
+
+    @Param({ "200" })
+    private int concurrency;
+
+    @Param({ "50" })
+    private int waitMillis;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(DemoApp.class)
+            .profiles("dev")
+            .properties("server.port=0", "spring.docker.compose.enabled=false", "spring.threads.virtual.enabled=" + virtualThreads)
+            .initializers(applicationContext ->
+                ((GenericApplicationContext) applicationContext).registerBean("benchmarkWaitRoute", RouterFunction.class, () ->
+                        RouterFunctions.route()
+                            .GET("/api/benchmark/wait", serverRequest -> {
+                                Thread.sleep(waitMillis);
+                                return ServerResponse.noContent().build();
+                            })
+                            .build()
+                    )
+            )
+            .run();
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        HttpResponse<String> authentication = httpClient.send(
+            HttpRequest.newBuilder(URI.create(baseUrl + "/api/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin\"}"))
+                .build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        String token = new ObjectMapper().readTree(authentication.body()).get("id_token").asText();
+        request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS.get(endpoint))).header("Authorization", "Bearer " + token).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void concurrentRequests() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            responses[i] = httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> {
+                    if (response.statusCode() >= 300) {
+                        throw new IllegalStateException("Unexpected status " + response.statusCode());
+                    }
+                });
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+}
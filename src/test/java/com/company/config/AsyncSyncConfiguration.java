@@ -12,4 +12,9 @@ public class AsyncSyncConfiguration {
     public Executor taskExecutor() {
         return new SyncTaskExecutor();
     }
+
+    @Bean(name = "importJobExecutor")
+    public Executor importJobExecutor() {
+        return new SyncTaskExecutor();
+    }
 }
@@ -99,6 +99,30 @@ class CRLFLogConverterTest {
         assertEquals("Test_input_string", result);
     }
 
+    @Test
+    void transformShouldReplaceEachTabNewlineAndCarriageReturnWhenLoggerIsNotSafe() {
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getLoggerName()).thenReturn("com.mycompany.myapp.example.Logger");
+        String input = "\r\nTest\t\tinput\n";
+        CRLFLogConverter converter = new CRLFLogConverter();
+
+        String result = converter.transform(event, input);
+
+        assertEquals("__Test__input_", result);
+    }
+
+    @Test
+    void transformShouldReturnTheSameInstanceWhenThereIsNothingToReplace() {
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getLoggerName()).thenReturn("com.mycompany.myapp.example.Logger");
+        String input = "Test input string";
+        CRLFLogConverter converter = new CRLFLogConverter();
+
+        String result = converter.transform(event, input);
+
+        assertSame(input, result);
+    }
+
     @Test
     void isLoggerSafeShouldReturnTrueWhenLoggerNameStartsWithSafeLogger() {
         ILoggingEvent event = mock(ILoggingEvent.class);
@@ -121,6 +145,20 @@ class CRLFLogConverterTest {
         assertFalse(result);
     }
 
+    @Test
+    void isLoggerSafeShouldGiveTheSameAnswerForALoggerSeenBefore() {
+        ILoggingEvent safeEvent = mock(ILoggingEvent.class);
+        when(safeEvent.getLoggerName()).thenReturn("org.hibernate.SQL");
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getLoggerName()).thenReturn("com.mycompany.myapp.example.Logger");
+        CRLFLogConverter converter = new CRLFLogConverter();
+        converter.isLoggerSafe(safeEvent);
+        converter.isLoggerSafe(event);
+
+        assertTrue(converter.isLoggerSafe(safeEvent));
+        assertFalse(converter.isLoggerSafe(event));
+    }
+
     @Test
     void testToAnsiString() {
         CRLFLogConverter cut = new CRLFLogConverter();
@@ -0,0 +1,107 @@
+package com.company.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.company.IntegrationTest;
+import com.company.domain.Car;
+import com.company.repository.CarRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link ReplicaDataSourceConfiguration}.
+ * <p>
+ * The replica is a second, read-only, pool on the test database, so the active connections of each pool show where a
+ * transaction of the {@link JpaTransactionManager} was routed through the lazy connection proxy.
+ */
+@IntegrationTest
+@WithMockUser("replica-user")
+@TestPropertySource(properties = "application.datasource.replica.url=${spring.datasource.url}")
+class ReplicaDataSourceIT {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private Car insertedCar;
+
+    @BeforeEach
+    void setUp() {
+        assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (insertedCar != null) {
+            carRepository.deleteById(insertedCar.getId());
+            insertedCar = null;
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsShouldReachTheReplica() {
+        assertThat(activePool(readOnlyTransaction)).isEqualTo(replicaDataSource.getPoolName());
+    }
+
+    @Test
+    void readWriteTransactionsShouldReachThePrimary() {
+        assertThat(activePool(readWriteTransaction)).isEqualTo(primaryDataSource.getPoolName());
+    }
+
+    @Test
+    void readWriteTransactionsThatOnlyReadShouldNotSendTheNextReadsToThePrimary() {
+        readWriteTransaction.executeWithoutResult(status -> carRepository.findAll());
+
+        assertThat(activePool(readOnlyTransaction)).isEqualTo(replicaDataSource.getPoolName());
+    }
+
+    @Test
+    @WithMockUser("replica-writer")
+    void committedWritesShouldSendTheNextReadsOfTheSameUserToThePrimary() {
+        insertedCar = readWriteTransaction.execute(status ->
+            carRepository.saveAndFlush(new Car().name("replica-car").model("model").price(BigDecimal.TEN))
+        );
+
+        assertThat(activePool(readOnlyTransaction)).isEqualTo(primaryDataSource.getPoolName());
+    }
+
+    /**
+     * Run a query in a transaction, and return the name of the pool that lent its connection.
+     */
+    private String activePool(TransactionTemplate transaction) {
+        return transaction.execute(status -> {
+            carRepository.count();
+            int primaryConnections = primaryDataSource.getHikariPoolMXBean().getActiveConnections();
+            int replicaConnections = replicaDataSource.getHikariPoolMXBean().getActiveConnections();
+            assertThat(primaryConnections + replicaConnections).isEqualTo(1);
+            return primaryConnections == 1 ? primaryDataSource.getPoolName() : replicaDataSource.getPoolName();
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package com.company.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.company.IntegrationTest;
+import com.company.domain.Car;
+import com.company.domain.Owner;
+import com.company.repository.CarRepository;
+import com.company.repository.OwnerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Benchmark of the database round trips saved by the Hibernate second-level cache, see {@link CacheConfiguration}.
+ * <p>
+ * The cache is disabled in the other integration tests, so it is turned on here with Hibernate statistics, which count
+ * the JDBC statements of repeated {@code GET} requests with and without the cached entities.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+    }
+)
+class SecondLevelCacheIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SecondLevelCacheIT.class);
+
+    private static final int REQUESTS = 50;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private SessionFactory sessionFactory;
+
+    private Owner owner;
+
+    private Car car;
+
+    @BeforeEach
+    void initTest() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        owner = ownerRepository.saveAndFlush(new Owner().name("Cached Owner").gender("x"));
+        car = carRepository.saveAndFlush(new Car().name("Cached Car").model("model").price(BigDecimal.ONE).owner(owner));
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void cleanup() {
+        carRepository.delete(car);
+        ownerRepository.delete(owner);
+    }
+
+    @Test
+    void getCarIsServedFromTheCache() throws Exception {
+        long uncached = countStatements("/api/cars/" + car.getId(), true);
+        long cached = countStatements("/api/cars/" + car.getId(), false);
+
+        LOG.info("GET /api/cars/{id} x{}: {} statements without the second-level cache, {} with it", REQUESTS, uncached, cached);
+        assertThat(uncached).isGreaterThanOrEqualTo(REQUESTS);
+        assertThat(cached).isZero();
+        assertThat(sessionFactory.getStatistics().getDomainDataRegionStatistics(Car.class.getName()).getHitCount()).isEqualTo(REQUESTS);
+    }
+
+    @Test
+    void getOwnerIsServedFromTheCache() throws Exception {
+        long uncached = countStatements("/api/owners/" + owner.getId(), true);
+        long cached = countStatements("/api/owners/" + owner.getId(), false);
+
+        LOG.info("GET /api/owners/{id} x{}: {} statements without the second-level cache, {} with it", REQUESTS, uncached, cached);
+        assertThat(uncached).isGreaterThanOrEqualTo(REQUESTS);
+        assertThat(cached).isZero();
+        assertThat(sessionFactory.getStatistics().getDomainDataRegionStatistics(Owner.class.getName()).getHitCount()).isEqualTo(
+            REQUESTS
+        );
+    }
+
+    /**
+     * Count the JDBC statements of {@link #REQUESTS} requests, the last one leaving the entity in the cache.
+     * The statistics are cleared first, and left as they are after the requests.
+     */
+    private long countStatements(String url, boolean evictBeforeEachRequest) throws Exception {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        for (int i = 0; i < REQUESTS; i++) {
+            if (evictBeforeEachRequest) {
+                sessionFactory.getCache().evictAllRegions();
+            }
+            mockMvc.perform(get(url)).andExpect(status().isOk());
+        }
+        return statistics.getPrepareStatementCount();
+    }
+}
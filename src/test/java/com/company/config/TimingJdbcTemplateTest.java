@@ -0,0 +1,92 @@
+package com.company.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.company.management.QueryStatistics;
+import com.company.management.QueryStatistics.Order;
+import com.company.management.QueryStatistics.QueryStatistic;
+import com.company.management.RequestTimings;
+import com.company.management.StatementExecution;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Test class for the {@link TimingJdbcTemplate}.
+ */
+class TimingJdbcTemplateTest {
+
+    private static final String CARS = "select id from car where price > ?";
+
+    private final QueryStatistics queryStatistics = new QueryStatistics(Duration.ofSeconds(1), 10);
+
+    private Connection connection;
+
+    private PreparedStatement statement;
+
+    private JdbcClient jdbcClient;
+
+    private RequestTimings timings;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        jdbcClient = JdbcClient.create(new TimingJdbcTemplate(dataSource, queryStatistics));
+        timings = RequestTimings.start(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timings.stop();
+    }
+
+    @Test
+    void failedStatementsShouldBeRecorded() throws SQLException {
+        when(statement.executeQuery()).thenThrow(new SQLTimeoutException("canceling statement due to statement timeout"));
+
+        assertThatThrownBy(() -> jdbcClient.sql(CARS).param(10).query(Long.class).list()).isInstanceOf(DataAccessException.class);
+
+        assertThat(timings.getStatements()).isEqualTo(1);
+        assertThat(queryStatistics.top(Order.COUNT, 10)).extracting(QueryStatistic::count).containsExactly(1L);
+    }
+
+    @Test
+    void statementsThatNeverRanShouldNotLeaveTheirSqlToTheNextOne() throws SQLException {
+        when(connection.prepareStatement(anyString())).thenThrow(new SQLException("connection closed"));
+
+        assertThatThrownBy(() -> jdbcClient.sql(CARS).param(10).query(Long.class).list()).isInstanceOf(DataAccessException.class);
+
+        assertThat(timings.getStatements()).isZero();
+        // a statement of Hibernate, whose SQL is not given to the statistics
+        StatementExecution.start();
+        StatementExecution.stop();
+        assertThat(timings.getStatements()).isEqualTo(1);
+        assertThat(queryStatistics.top(Order.COUNT, 10)).isEmpty();
+    }
+
+    @Test
+    void nestedTemplateMethodsShouldRecordTheStatementOnce() throws SQLException {
+        when(statement.executeUpdate()).thenReturn(1);
+
+        assertThat(jdbcClient.sql("update car set price = ? where id = ?").params(10, 1).update()).isEqualTo(1);
+
+        assertThat(timings.getStatements()).isEqualTo(1);
+        assertThat(queryStatistics.top(Order.COUNT, 10)).extracting(QueryStatistic::count).containsExactly(1L);
+    }
+}
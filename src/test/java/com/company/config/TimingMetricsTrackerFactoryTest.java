@@ -0,0 +1,77 @@
+package com.company.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.company.management.RequestTimings;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+/**
+ * Test class for the {@link TimingMetricsTrackerFactory}.
+ */
+class TimingMetricsTrackerFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IMetricsTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        TimingMetricsTrackerFactory factory = new TimingMetricsTrackerFactory(
+            new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class),
+            Duration.ofSeconds(30)
+        );
+        tracker = factory.create(
+            "test",
+            new PoolStats(0) {
+                @Override
+                protected void update() {}
+            }
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.stop();
+        }
+    }
+
+    @Test
+    void connectionAcquisitionShouldBeAddedToTheRequestAndTheMetrics() {
+        RequestTimings timings = RequestTimings.start(false);
+
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(timings.getConnectionNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "test").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionTimeoutShouldAddTheWholeTimeoutToTheRequest() {
+        RequestTimings timings = RequestTimings.start(false);
+
+        tracker.recordConnectionTimeout();
+
+        assertThat(timings.getConnectionNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+        assertThat(meterRegistry.get("hikaricp.connections.timeout").tag("pool", "test").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionAcquisitionOutsideOfARequestShouldOnlyBeAddedToTheMetrics() {
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(RequestTimings.current()).isNull();
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "test").timer().count()).isEqualTo(1);
+    }
+}
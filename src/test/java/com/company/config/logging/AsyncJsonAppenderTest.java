@@ -0,0 +1,213 @@
+package com.company.config.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for the {@link AsyncJsonAppender}.
+ */
+class AsyncJsonAppenderTest {
+
+    private static final Map<String, String> CUSTOM_FIELDS = Map.of("app_name", "demo", "app_port", "8080");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LoggerContext loggerContext = new LoggerContext();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AsyncJsonAppender appender;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (appender != null) {
+            appender.stop();
+        }
+    }
+
+    private AsyncJsonAppender start(LogSink sink, int bufferSize, OverflowPolicy overflowPolicy) {
+        appender = new AsyncJsonAppender("test", sink, CUSTOM_FIELDS, bufferSize, overflowPolicy, 2, meterRegistry);
+        appender.setContext(loggerContext);
+        appender.start();
+        return appender;
+    }
+
+    private LoggingEvent event(Level level, String message, Object... arguments) {
+        return new LoggingEvent(
+            AsyncJsonAppenderTest.class.getName(),
+            loggerContext.getLogger("com.company.web.rest.CarResource"),
+            level,
+            message,
+            null,
+            arguments
+        );
+    }
+
+    private double dropped(Level level) {
+        return meterRegistry.get("logging.appender.dropped").tag("level", level.toString().toLowerCase()).counter().count();
+    }
+
+    @Test
+    void shouldWriteTheEventsAsJsonLinesToAFile() throws Exception {
+        Path file = directory.resolve("demo.json.log");
+        start(LogSink.file(file), 16, OverflowPolicy.DROP_DEBUG);
+
+        appender.doAppend(event(Level.INFO, "REST request to get Car : {}", 1));
+        LoggingEvent error = event(Level.ERROR, "Failed\nto save");
+        error.setThrowableProxy(new ThrowableProxy(new IllegalStateException("Boom")));
+        appender.doAppend(error);
+        appender.stop();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode info = objectMapper.readTree(lines.get(0));
+        assertThat(info.get("level").asText()).isEqualTo("INFO");
+        assertThat(info.get("message").asText()).isEqualTo("REST request to get Car : 1");
+        assertThat(info.get("logger_name").asText()).isEqualTo("com.company.web.rest.CarResource");
+        assertThat(info.get("app_name").asText()).isEqualTo("demo");
+        assertThat(info.has("@timestamp")).isTrue();
+        JsonNode errorLine = objectMapper.readTree(lines.get(1));
+        assertThat(errorLine.get("message").asText()).isEqualTo("Failed\nto save");
+        assertThat(errorLine.get("stack_trace").asText()).contains("java.lang.IllegalStateException: Boom");
+        assertThat(meterRegistry.get("logging.appender.encode").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldWriteTheEventsToALoopbackSocket() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            start(LogSink.socket(server.getInetAddress().getHostAddress(), server.getLocalPort()), 16, OverflowPolicy.DROP_DEBUG);
+
+            appender.doAppend(event(Level.WARN, "Slow query"));
+
+            server.setSoTimeout(5000);
+            try (
+                Socket socket = server.accept();
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))
+            ) {
+                socket.setSoTimeout(5000);
+                assertThat(objectMapper.readTree(reader.readLine()).get("message").asText()).isEqualTo("Slow query");
+            }
+        }
+    }
+
+    @Test
+    void shouldDropTheDebugEventsFirstWhenTheBufferFillsUp() throws Exception {
+        BlockingSink sink = new BlockingSink();
+        start(sink, 8, OverflowPolicy.DROP_DEBUG);
+        appender.doAppend(event(Level.INFO, "written"));
+        assertThat(sink.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 7; i++) {
+            appender.doAppend(event(Level.INFO, "info"));
+        }
+        appender.doAppend(event(Level.DEBUG, "debug"));
+        appender.doAppend(event(Level.ERROR, "error"));
+        appender.doAppend(event(Level.ERROR, "error"));
+
+        assertThat(appender.getQueueSize()).isEqualTo(8);
+        assertThat(meterRegistry.get("logging.appender.queue").gauge().value()).isEqualTo(8);
+        assertThat(dropped(Level.DEBUG)).isEqualTo(1);
+        assertThat(dropped(Level.ERROR)).isEqualTo(1);
+        assertThat(dropped(Level.INFO)).isZero();
+        sink.release.countDown();
+    }
+
+    @Test
+    void shouldSampleTheEventsBelowWarnWhenTheBufferFillsUp() throws Exception {
+        BlockingSink sink = new BlockingSink();
+        start(sink, 16, OverflowPolicy.SAMPLE);
+        appender.doAppend(event(Level.INFO, "written"));
+        assertThat(sink.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 13; i++) {
+            appender.doAppend(event(Level.INFO, "info"));
+        }
+        for (int i = 0; i < 4; i++) {
+            appender.doAppend(event(Level.DEBUG, "debug"));
+        }
+        appender.doAppend(event(Level.WARN, "warn"));
+
+        assertThat(dropped(Level.DEBUG)).isEqualTo(2);
+        assertThat(dropped(Level.WARN)).isZero();
+        assertThat(appender.getQueueSize()).isEqualTo(16);
+        sink.release.countDown();
+    }
+
+    @Test
+    void shouldDropTheEventsWhileTheSinkCannotBeOpened() throws Exception {
+        start(
+            () -> {
+                throw new IOException("Connection refused");
+            },
+            16,
+            OverflowPolicy.BLOCK
+        );
+
+        appender.doAppend(event(Level.INFO, "lost"));
+        appender.stop();
+
+        assertThat(dropped(Level.INFO)).isEqualTo(1);
+    }
+
+    /**
+     * Sink whose first write blocks until released.
+     */
+    private static class BlockingSink implements LogSink {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public OutputStream open() {
+            return new OutputStream() {
+                @Override
+                public void write(int b) {}
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+        }
+    }
+}
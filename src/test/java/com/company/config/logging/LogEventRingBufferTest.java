@@ -0,0 +1,86 @@
+package com.company.config.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link LogEventRingBuffer}.
+ */
+class LogEventRingBufferTest {
+
+    @Test
+    void shouldRoundTheCapacityUpToAPowerOfTwo() {
+        assertThat(new LogEventRingBuffer<String>(512).capacity()).isEqualTo(512);
+        assertThat(new LogEventRingBuffer<String>(500).capacity()).isEqualTo(512);
+        assertThat(new LogEventRingBuffer<String>(1).capacity()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepTheOrderAndRejectWhenFull() {
+        LogEventRingBuffer<String> buffer = new LogEventRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer("event" + i)).isTrue();
+        }
+
+        assertThat(buffer.offer("event4")).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+        assertThat(buffer.poll()).isEqualTo("event0");
+        assertThat(buffer.offer("event4")).isTrue();
+        List<String> events = new ArrayList<>();
+        for (String event = buffer.poll(); event != null; event = buffer.poll()) {
+            events.add(event);
+        }
+        assertThat(events).containsExactly("event1", "event2", "event3", "event4");
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void shouldNotLoseEventsOfConcurrentWriters() throws Exception {
+        LogEventRingBuffer<Integer> buffer = new LogEventRingBuffer<>(64);
+        int writers = 4;
+        int eventsPerWriter = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < eventsPerWriter; i++) {
+                    while (!buffer.offer(writer * eventsPerWriter + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        start.countDown();
+
+        boolean[] seen = new boolean[writers * eventsPerWriter];
+        int[] last = { -1, -1, -1, -1 };
+        int count = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (count < seen.length && System.nanoTime() < deadline) {
+            Integer event = buffer.poll();
+            if (event != null) {
+                assertThat(seen[event]).isFalse();
+                seen[event] = true;
+                assertThat(event).isGreaterThan(last[event / eventsPerWriter]);
+                last[event / eventsPerWriter] = event;
+                count++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(count).isEqualTo(seen.length);
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.management;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.company.IntegrationTest;
+import com.company.security.AuthoritiesConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link QueriesEndpoint}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@TestPropertySource(
+    properties = { "management.endpoints.web.base-path=/management", "management.endpoints.web.exposure.include=queries" }
+)
+class QueriesEndpointIT {
+
+    private static final String OWNERS_FINGERPRINT = "select id, name, gender, version from owner order by id";
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    @BeforeEach
+    void resetQueryStatistics() {
+        queryStatistics.reset();
+    }
+
+    @Test
+    void shouldCountTheJdbcClientAndHibernateStatements() throws Exception {
+        restMockMvc.perform(get("/api/owners")).andExpect(status().isOk());
+        restMockMvc.perform(get("/api/owners")).andExpect(status().isOk());
+        restMockMvc.perform(get("/api/admin/users")).andExpect(status().isOk());
+
+        restMockMvc
+            .perform(get("/management/queries?sort=count&top=100"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.slowThresholdMillis").value(100))
+            .andExpect(jsonPath("$.fingerprints").value(greaterThanOrEqualTo(2)))
+            .andExpect(jsonPath("$.queries[*].fingerprint").value(hasItem(OWNERS_FINGERPRINT)))
+            .andExpect(jsonPath("$.queries[?(@.fingerprint == '" + OWNERS_FINGERPRINT + "')].count").value(hasItem(2)))
+            .andExpect(jsonPath("$.queries[*].fingerprint").value(hasItem(containsString("from jhi_user"))));
+    }
+
+    @Test
+    void shouldRejectAnUnknownSort() throws Exception {
+        restMockMvc.perform(get("/management/queries?sort=name")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldResetTheStatistics() throws Exception {
+        restMockMvc.perform(get("/api/owners")).andExpect(status().isOk());
+
+        restMockMvc.perform(delete("/management/queries")).andExpect(status().isNoContent());
+
+        restMockMvc.perform(get("/management/queries")).andExpect(status().isOk()).andExpect(jsonPath("$.queries").isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import com.company.management.QueryStatistics.Order;
+import com.company.management.QueryStatistics.QueryStatistic;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link QueryStatistics}.
+ */
+class QueryStatisticsTest {
+
+    private static final String CARS_OF_OWNER = "select c1_0.id,c1_0.name from car c1_0 where c1_0.owner_id=?";
+
+    private static final String OWNERS = "select id, name, gender, version from owner order by id";
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    void shouldRemoveTheLiteralsAndCollapseTheParameterLists() {
+        assertThat(QueryStatistics.fingerprint("SELECT *\n  FROM car WHERE name = 'O''Brien' AND price > 10.5 LIMIT 20"))
+            .isEqualTo("select * from car where name = ? and price > ? limit ?");
+        assertThat(QueryStatistics.fingerprint("select c1_0.id from car c1_0 where c1_0.id in (?,?,?,?)"))
+            .isEqualTo(QueryStatistics.fingerprint("select c1_0.id from car c1_0 where c1_0.id in (?, ?)"))
+            .isEqualTo("select c1_0.id from car c1_0 where c1_0.id in (?)");
+        assertThat(QueryStatistics.fingerprint("insert into car (name, model) values (?, ?), (?, ?), (?, ?) on conflict (name) do nothing"))
+            .isEqualTo("insert into car (name, model) values (?) on conflict (name) do nothing");
+    }
+
+    @Test
+    void shouldCountTheBindParameters() {
+        assertThat(QueryStatistics.bindParameters(CARS_OF_OWNER)).isEqualTo(1);
+        assertThat(QueryStatistics.bindParameters(OWNERS)).isZero();
+    }
+
+    @Test
+    void shouldNotCountTheQuestionMarksOfTheStringLiterals() {
+        assertThat(QueryStatistics.bindParameters("select * from car where name = 'Why?' and model = ?")).isEqualTo(1);
+        assertThat(QueryStatistics.bindParameters("select * from car where name = 'It''s ?' or name = ''")).isZero();
+    }
+
+    @Test
+    void shouldGiveTheFingerprintsTakingTheMostTime() {
+        QueryStatistics statistics = new QueryStatistics(Duration.ofSeconds(1), 10);
+        for (int i = 0; i < 100; i++) {
+            statistics.record(CARS_OF_OWNER, millis(1));
+        }
+        statistics.record(OWNERS, millis(30));
+        statistics.record(OWNERS.replace("order by id", "order by  id"), millis(50));
+
+        assertThat(statistics.top(Order.COUNT, 10)).extracting(QueryStatistic::count).containsExactly(100L, 2L);
+        assertThat(statistics.top(Order.MAX, 1)).extracting(QueryStatistic::fingerprint).containsExactly(OWNERS);
+        QueryStatistic cars = statistics.top(Order.TOTAL, 1).get(0);
+        assertThat(cars.fingerprint()).isEqualTo(CARS_OF_OWNER);
+        assertThat(cars.totalMillis()).isEqualTo(100);
+        assertThat(cars.meanMillis()).isEqualTo(1);
+        assertThat(cars.p99Millis()).isEqualTo(1);
+        QueryStatistic owners = statistics.top(Order.MEAN, 1).get(0);
+        assertThat(owners.meanMillis()).isEqualTo(40);
+        assertThat(owners.p50Millis()).isEqualTo(50);
+        assertThat(owners.maxMillis()).isEqualTo(50);
+        assertThat(statistics.getFingerprints()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCountTogetherTheFingerprintsOverTheMaximum() {
+        QueryStatistics statistics = new QueryStatistics(Duration.ofSeconds(1), 1);
+        statistics.record(CARS_OF_OWNER, millis(1));
+        statistics.record(OWNERS, millis(1));
+        statistics.record("select * from jhi_user", millis(1));
+
+        assertThat(statistics.top(Order.COUNT, 10))
+            .extracting(QueryStatistic::fingerprint, QueryStatistic::count)
+            .containsExactly(
+                tuple(QueryStatistics.OTHER_FINGERPRINT, 2L),
+                tuple(CARS_OF_OWNER, 1L)
+            );
+    }
+
+    @Test
+    void shouldReset() {
+        QueryStatistics statistics = new QueryStatistics(Duration.ZERO, 1);
+        statistics.record(CARS_OF_OWNER, millis(1));
+        statistics.record(OWNERS, millis(1));
+
+        statistics.reset();
+
+        assertThat(statistics.top(Order.TOTAL, 10)).isEmpty();
+        assertThat(statistics.getFingerprints()).isZero();
+    }
+}
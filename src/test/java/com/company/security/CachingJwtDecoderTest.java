@@ -0,0 +1,127 @@
+package com.company.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Test class for the {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T10:00:00Z");
+
+    private final List<String> decoded = new ArrayList<>();
+
+    private final MutableClock clock = new MutableClock();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingJwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtDecoder = new CachingJwtDecoder(this::decode, 10, Duration.ofMinutes(5), clock, meterRegistry);
+    }
+
+    private Jwt decode(String token) {
+        decoded.add(token);
+        if (token.startsWith("invalid")) {
+            throw new BadJwtException("Invalid signature");
+        }
+        Instant expiresAt = token.startsWith("short") ? NOW.plusSeconds(60) : NOW.plus(Duration.ofHours(1));
+        if (!clock.instant().isBefore(expiresAt)) {
+            throw new BadJwtException("Jwt expired at " + expiresAt);
+        }
+        return Jwt.withTokenValue(token).header("alg", "HS512").subject("user").issuedAt(NOW).expiresAt(expiresAt).build();
+    }
+
+    @Test
+    void shouldDecodeATokenOnce() {
+        Jwt jwt = jwtDecoder.decode("token");
+
+        assertThat(jwtDecoder.decode("token")).isSameAs(jwt);
+        assertThat(jwtDecoder.decode("other")).isNotSameAs(jwt);
+        assertThat(decoded).containsExactly("token", "other");
+        assertThat(meterRegistry.get("security.jwt.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwt.cache").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDecodeATokenAgainAfterTheTimeToLive() {
+        jwtDecoder.decode("token");
+        clock.advance(Duration.ofMinutes(5));
+
+        jwtDecoder.decode("token");
+
+        assertThat(decoded).containsExactly("token", "token");
+    }
+
+    @Test
+    void shouldNotReturnAnExpiredToken() {
+        jwtDecoder.decode("short");
+        clock.advance(Duration.ofSeconds(59));
+        jwtDecoder.decode("short");
+        clock.advance(Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> jwtDecoder.decode("short")).isInstanceOf(BadJwtException.class).hasMessageStartingWith("Jwt expired");
+        assertThat(decoded).containsExactly("short", "short");
+    }
+
+    @Test
+    void shouldNotCacheTheRejectedTokens() {
+        assertThatThrownBy(() -> jwtDecoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> jwtDecoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+
+        assertThat(decoded).containsExactly("invalid", "invalid");
+        assertThat(meterRegistry.get("security.jwt.cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldBoundTheNumberOfCachedTokens() {
+        for (int i = 0; i < 100; i++) {
+            jwtDecoder.decode("token" + i);
+        }
+
+        assertThat(meterRegistry.get("security.jwt.cache.size").gauge().value()).isLessThanOrEqualTo(10);
+        jwtDecoder.decode("token99");
+        assertThat(decoded).hasSize(100);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = NOW;
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
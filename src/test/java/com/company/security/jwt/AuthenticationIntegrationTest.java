@@ -1,5 +1,6 @@
 package com.company.security.jwt;
 
+import com.company.config.ApplicationProperties;
 import com.company.config.SecurityConfiguration;
 import com.company.config.SecurityJwtConfiguration;
 import com.company.config.WebConfigurer;
@@ -21,6 +22,7 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
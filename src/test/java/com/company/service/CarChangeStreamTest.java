@@ -0,0 +1,199 @@
+package com.company.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.company.config.ApplicationProperties;
+import com.company.service.dto.CarDTO;
+import com.company.service.event.CarChangedEvent;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CarChangeStream} service.
+ */
+class CarChangeStreamTest {
+
+    private static final String OVERFLOW = "overflow";
+
+    private CarChangeStream stream;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCarStream().setBufferSize(3);
+        stream = new CarChangeStream(applicationProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void changesShouldBeSentToEverySubscriber() throws Exception {
+        BlockingQueue<Object> first = subscribe(null);
+        BlockingQueue<Object> second = subscribe(null);
+
+        stream.onCarChanged(CarChangedEvent.created(car(1L, "Clio")));
+        stream.onCarChanged(CarChangedEvent.deleted(2L));
+
+        assertThat(next(first)).isEqualTo("CREATED 1 Clio");
+        assertThat(next(first)).isEqualTo("DELETED 2");
+        assertThat(next(second)).isEqualTo("CREATED 1 Clio");
+        assertThat(next(second)).isEqualTo("DELETED 2");
+    }
+
+    @Test
+    void slowSubscriberShouldGetTheLastChangeOfEachCar() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<Object> slow = subscribe(release);
+        BlockingQueue<Object> fast = subscribe(null);
+
+        stream.onCarChanged(CarChangedEvent.updated(car(1L, "Clio")));
+        assertThat(next(slow)).isEqualTo("UPDATED 1 Clio");
+        // The slow subscriber is now blocked in its sink, which blocks neither the writer nor the other subscriber
+        stream.onCarChanged(CarChangedEvent.updated(car(2L, "Zoe")));
+        stream.onCarChanged(CarChangedEvent.updated(car(3L, "Twingo")));
+        stream.onCarChanged(CarChangedEvent.updated(car(2L, "Zoe 2")));
+        assertThat(next(fast)).isEqualTo("UPDATED 1 Clio");
+        Object last;
+        do {
+            last = next(fast);
+        } while (last != null && !last.equals("UPDATED 3 Twingo"));
+        assertThat(last).isEqualTo("UPDATED 3 Twingo");
+
+        release.countDown();
+        assertThat(next(slow)).isEqualTo("UPDATED 2 Zoe 2");
+        assertThat(next(slow)).isEqualTo("UPDATED 3 Twingo");
+        assertThat(slow.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void slowSubscriberShouldOverflowWhenTooManyCarsAreWaiting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<Object> slow = subscribe(release);
+
+        stream.onCarChanged(CarChangedEvent.updated(car(1L, "Clio")));
+        assertThat(next(slow)).isEqualTo("UPDATED 1 Clio");
+        stream.onCarChanged(CarChangedEvent.updated(car(2L, "Zoe")));
+        stream.onCarChanged(CarChangedEvent.updated(car(3L, "Twingo")));
+        stream.onCarChanged(CarChangedEvent.updated(car(4L, "Megane")));
+        stream.onCarChanged(CarChangedEvent.updated(car(5L, "Kangoo")));
+
+        release.countDown();
+        assertThat(next(slow)).isEqualTo(OVERFLOW);
+        stream.onCarChanged(CarChangedEvent.deleted(6L));
+        assertThat(next(slow)).isEqualTo("DELETED 6");
+    }
+
+    @Test
+    void blockedSubscribersShouldNotHoldTheSenderThreads() throws Exception {
+        stream.shutdown();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCarStream().setSenderThreads(1);
+        applicationProperties.getCarStream().setWriteTimeout(Duration.ofMillis(100));
+        stream = new CarChangeStream(applicationProperties);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        stream.subscribe(
+            new CarChangeStream.Sink() {
+                @Override
+                public void change(CarChangedEvent event) {
+                    blocked.countDown();
+                    // A write to a client that stopped reading, which does not even give up when interrupted
+                    while (true) {
+                        try {
+                            release.await();
+                            return;
+                        } catch (InterruptedException e) {
+                            // keep blocking
+                        }
+                    }
+                }
+
+                @Override
+                public void overflow() {}
+            }
+        );
+        try {
+            stream.onCarChanged(CarChangedEvent.deleted(1L));
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // The only sender thread is now blocked
+            BlockingQueue<Object> other = subscribe(null);
+            stream.onCarChanged(CarChangedEvent.deleted(2L));
+
+            assertThat(next(other)).isEqualTo("DELETED 2");
+            assertThat(stream.getSubscriberCount()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void failingSubscriberShouldBeCancelled() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        stream.subscribe(
+            new CarChangeStream.Sink() {
+                @Override
+                public void change(CarChangedEvent event) {
+                    failed.countDown();
+                    throw new IllegalStateException("gone");
+                }
+
+                @Override
+                public void overflow() {}
+            }
+        );
+        assertThat(stream.getSubscriberCount()).isEqualTo(1);
+
+        stream.onCarChanged(CarChangedEvent.deleted(1L));
+
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 50 && stream.getSubscriberCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(stream.getSubscriberCount()).isZero();
+    }
+
+    /**
+     * Subscribe with a sink that queues a description of what it receives, then waits for the latch, if any.
+     */
+    private BlockingQueue<Object> subscribe(CountDownLatch release) {
+        BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+        stream.subscribe(
+            new CarChangeStream.Sink() {
+                @Override
+                public void change(CarChangedEvent event) throws Exception {
+                    received.add(event.type() + " " + event.id() + (event.car() != null ? " " + event.car().getName() : ""));
+                    if (release != null) {
+                        release.await();
+                    }
+                }
+
+                @Override
+                public void overflow() {
+                    received.add(OVERFLOW);
+                }
+            }
+        );
+        return received;
+    }
+
+    private static Object next(BlockingQueue<Object> received) throws InterruptedException {
+        return received.poll(5, TimeUnit.SECONDS);
+    }
+
+    private static CarDTO car(Long id, String name) {
+        CarDTO car = new CarDTO();
+        car.setId(id);
+        car.setName(name);
+        return car;
+    }
+}
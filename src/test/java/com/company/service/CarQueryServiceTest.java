@@ -0,0 +1,71 @@
+package com.company.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.company.repository.CarRepository;
+import com.company.service.criteria.CarCriteria;
+import com.company.service.mapper.CarMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Test class for the {@link CarQueryService} caches.
+ */
+class CarQueryServiceTest {
+
+    private CarRepository carRepository;
+
+    private CarQueryService carQueryService;
+
+    @BeforeEach
+    void setUp() {
+        carRepository = mock(CarRepository.class);
+        carQueryService = new CarQueryService(
+            carRepository,
+            mock(CarMapper.class),
+            new ConcurrentMapCacheManager(CarQueryService.CARS_BY_CRITERIA_CACHE, CarQueryService.CAR_COUNT_BY_CRITERIA_CACHE)
+        );
+    }
+
+    @Test
+    void countShouldBeCachedByCriteria() {
+        when(carRepository.count(any(Specification.class))).thenReturn(3L);
+
+        assertThat(carQueryService.countByCriteria(new CarCriteria())).isEqualTo(3L);
+        assertThat(carQueryService.countByCriteria(new CarCriteria())).isEqualTo(3L);
+
+        verify(carRepository, times(1)).count(any(Specification.class));
+    }
+
+    @Test
+    void countShouldBeReadAgainAfterClear() {
+        when(carRepository.count(any(Specification.class))).thenReturn(3L, 4L);
+
+        assertThat(carQueryService.countByCriteria(new CarCriteria())).isEqualTo(3L);
+        carQueryService.clearCaches();
+
+        assertThat(carQueryService.countByCriteria(new CarCriteria())).isEqualTo(4L);
+    }
+
+    @Test
+    void countReadBeforeClearShouldNotBeCached() {
+        when(carRepository.count(any(Specification.class)))
+            .thenAnswer(invocation -> {
+                // a write is committed while the count is read
+                carQueryService.clearCaches();
+                return 3L;
+            })
+            .thenReturn(4L);
+
+        assertThat(carQueryService.countByCriteria(new CarCriteria())).isEqualTo(3L);
+
+        assertThat(carQueryService.countByCriteria(new CarCriteria())).isEqualTo(4L);
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.company.service.dto.CarDTO;
+import com.company.service.event.CarChangedEvent;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CarSearchIndex} utility class.
+ */
+class CarSearchIndexTest {
+
+    private CarSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        CarService carService = mock(CarService.class);
+        doAnswer(invocation -> {
+            Consumer<CarDTO> consumer = invocation.getArgument(0);
+            consumer.accept(car(1L, "Clio", "Renault"));
+            consumer.accept(car(2L, "Mégane RS", "Renault Sport"));
+            return null;
+        })
+            .when(carService)
+            .exportAll(any());
+        index = new CarSearchIndex(carService);
+        index.rebuild();
+    }
+
+    @Test
+    void searchShouldMatchWordPrefixesOfShortQueries() {
+        assertThat(index.search("cl", 10)).containsExactly(1L);
+        assertThat(index.search("li", 10)).isEmpty();
+        assertThat(index.search("r", 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void searchShouldMatchInsideWordsOfLongerQueries() {
+        assertThat(index.search("lio", 10)).containsExactly(1L);
+        assertThat(index.search("ault", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void searchShouldIgnoreCaseAndAccents() {
+        assertThat(index.search("MEGANE", 10)).containsExactly(2L);
+        assertThat(index.search("mégane", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void searchShouldMatchAllWords() {
+        assertThat(index.search("renault sport", 10)).containsExactly(2L);
+        assertThat(index.search("clio sport", 10)).isEmpty();
+    }
+
+    @Test
+    void searchShouldRankNameMatchesFirst() {
+        index.onCarChanged(CarChangedEvent.created(car(3L, "Sportage", "Kia")));
+
+        assertThat(index.search("sport", 10)).containsExactly(3L, 2L);
+        assertThat(index.search("sport", 1)).containsExactly(3L);
+    }
+
+    @Test
+    void searchShouldFollowChanges() {
+        index.onCarChanged(CarChangedEvent.updated(car(1L, "Twingo", "Renault")));
+        index.onCarChanged(CarChangedEvent.deleted(2L));
+
+        assertThat(index.search("clio", 10)).isEmpty();
+        assertThat(index.search("twin", 10)).containsExactly(1L);
+        assertThat(index.search("renault", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void searchShouldSurviveCompaction() {
+        for (int i = 0; i < 3000; i++) {
+            index.onCarChanged(CarChangedEvent.updated(car(1L, "Clio " + i, "Renault")));
+        }
+
+        assertThat(index.search("clio 2999", 10)).containsExactly(1L);
+        assertThat(index.search("clio 1", 10)).isEmpty();
+        assertThat(index.search("megane", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void searchShouldIgnoreBlankQueries() {
+        assertThat(index.search(" - ", 10)).isEmpty();
+    }
+
+    @Test
+    void searchShouldFindNothingUntilTheIndexIsBuilt() {
+        CarService failingCarService = mock(CarService.class);
+        doThrow(new IllegalStateException("database down")).when(failingCarService).exportAll(any());
+        CarSearchIndex unbuiltIndex = new CarSearchIndex(failingCarService);
+        unbuiltIndex.onApplicationReady();
+
+        assertThat(unbuiltIndex.isBuilt()).isFalse();
+        assertThat(unbuiltIndex.search("clio", 10)).isEmpty();
+        assertThat(unbuiltIndex.search("clio", 10)).isEmpty();
+        verify(failingCarService, times(1)).exportAll(any());
+
+        doAnswer(invocation -> {
+            Consumer<CarDTO> consumer = invocation.getArgument(0);
+            consumer.accept(car(1L, "Clio", "Renault"));
+            return null;
+        })
+            .when(failingCarService)
+            .exportAll(any());
+        unbuiltIndex.retryFailedBuild();
+
+        assertThat(unbuiltIndex.isBuilt()).isTrue();
+        assertThat(unbuiltIndex.search("clio", 10)).containsExactly(1L);
+        unbuiltIndex.retryFailedBuild();
+        verify(failingCarService, times(2)).exportAll(any());
+    }
+
+    private static CarDTO car(Long id, String name, String model) {
+        CarDTO car = new CarDTO();
+        car.setId(id);
+        car.setName(name);
+        car.setModel(model);
+        return car;
+    }
+}
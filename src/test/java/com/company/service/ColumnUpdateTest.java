@@ -0,0 +1,91 @@
+package com.company.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ColumnUpdate} utility class.
+ */
+class ColumnUpdateTest {
+
+    private static ValidatorFactory validatorFactory;
+
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void setIfPresentShouldSkipNullProperties() {
+        ColumnUpdate<TestDTO> columns = new ColumnUpdate<>(validator, TestDTO.class)
+            .setIfPresent("name", null)
+            .setIfPresent("rank", 2, "rank_value", 2);
+
+        columns.validate();
+        assertThat(columns.isEmpty()).isFalse();
+        assertThat(columns.assignments()).isEqualTo("rank_value = :rank_value");
+    }
+
+    @Test
+    void setShouldKeepNullValues() {
+        ColumnUpdate<TestDTO> columns = new ColumnUpdate<>(validator, TestDTO.class).set("name", "abc").set("rank", null);
+
+        assertThat(columns.assignments()).isEqualTo("name = :name, rank = :rank");
+    }
+
+    @Test
+    void emptyUpdateShouldHaveNoAssignments() {
+        ColumnUpdate<TestDTO> columns = new ColumnUpdate<>(validator, TestDTO.class).setIfPresent("name", null);
+
+        assertThat(columns.isEmpty()).isTrue();
+        assertThat(columns.assignments()).isEmpty();
+    }
+
+    @Test
+    void validateShouldReportEveryInvalidProperty() {
+        ColumnUpdate<TestDTO> columns = new ColumnUpdate<>(validator, TestDTO.class)
+            .setIfPresent("name", "abcd")
+            .setIfPresent("rank", -1);
+
+        assertThatThrownBy(columns::validate)
+            .isInstanceOfSatisfying(ConstraintViolationException.class, e ->
+                assertThat(e.getConstraintViolations()).extracting(violation -> violation.getPropertyPath().toString())
+                    .containsExactlyInAnyOrder("name", "rank")
+            );
+    }
+
+    static class TestDTO {
+
+        @Size(max = 3)
+        private String name;
+
+        @Positive
+        private Integer rank;
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getRank() {
+            return rank;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.company.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CsvReader} utility class.
+ */
+class CsvReaderTest {
+
+    @Test
+    void readRecordShouldSplitOnSeparator() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("id;name;model;price\n1;youthfully;dark charm;18612.33\n"), ';');
+
+        assertThat(csv.readRecord()).containsExactly("id", "name", "model", "price");
+        assertThat(csv.readRecord()).containsExactly("1", "youthfully", "dark charm", "18612.33");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        assertThat(csv.readRecord()).isNull();
+    }
+
+    @Test
+    void readRecordShouldKeepEmptyFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(";a;;"), ';');
+
+        assertThat(csv.readRecord()).containsExactly("", "a", "", "");
+    }
+
+    @Test
+    void readRecordShouldUnquoteFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\"a;b\";\"say \"\"hi\"\"\";\"\"\n"), ';');
+
+        assertThat(csv.readRecord()).containsExactly("a;b", "say \"hi\"", "");
+    }
+
+    @Test
+    void readRecordShouldCountLinesOfMultilineAndBlankRecords() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\"first\nline\";x\r\n\r\n\nlast;y"), ';');
+
+        List<String> first = csv.readRecord();
+        assertThat(first).containsExactly("first\nline", "x");
+        assertThat(csv.getRecordLine()).isEqualTo(1);
+        assertThat(csv.readRecord()).containsExactly("last", "y");
+        assertThat(csv.getRecordLine()).isEqualTo(5);
+        assertThat(csv.readRecord()).isNull();
+    }
+}
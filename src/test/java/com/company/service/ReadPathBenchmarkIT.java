@@ -0,0 +1,140 @@
+package com.company.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.company.IntegrationTest;
+import com.company.domain.Car;
+import com.company.domain.Owner;
+import com.company.repository.CarRepository;
+import com.company.repository.OwnerRepository;
+import com.company.service.dto.CarDTO;
+import com.company.service.dto.OwnerDTO;
+import com.company.service.mapper.CarMapper;
+import com.company.service.mapper.OwnerMapper;
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration benchmark of the read paths of {@link CarService} and {@link OwnerService} that map rows straight to
+ * DTOs, against loading the entities and mapping them with MapStruct.
+ * <p>
+ * Both paths must return the same DTOs, and the projections must allocate less on the test thread.
+ * See {@code ReadPathBenchmark} for the throughput.
+ */
+@IntegrationTest
+@Transactional
+class ReadPathBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadPathBenchmarkIT.class);
+
+    private static final int OWNERS = 200;
+
+    private static final int CARS = 2000;
+
+    private static final int ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private OwnerService ownerService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private CarMapper carMapper;
+
+    @Autowired
+    private OwnerMapper ownerMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    public void initTest() {
+        List<Owner> owners = new ArrayList<>();
+        for (int i = 0; i < OWNERS; i++) {
+            owners.add(new Owner().name("Benchmark Owner " + i).gender("x"));
+        }
+        ownerRepository.saveAll(owners);
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < CARS; i++) {
+            Car car = new Car().name("Benchmark Car " + i).model("model").price(BigDecimal.valueOf(i * 100L, 2));
+            car.setOwner(owners.get(i % OWNERS));
+            cars.add(car);
+        }
+        carRepository.saveAll(cars);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void exportCarsWithProjection() {
+        Supplier<List<CarDTO>> entities = () -> {
+            List<CarDTO> result = carRepository.findAll(Sort.by("id")).stream().map(carMapper::toDto).toList();
+            em.clear();
+            return result;
+        };
+        Supplier<List<CarDTO>> projection = () -> {
+            List<CarDTO> result = new ArrayList<>();
+            carService.exportAll(result::add);
+            return result;
+        };
+
+        assertThat(projection.get()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(entities.get());
+        assertThat(allocatedBytes("export cars with projection", projection)).isLessThan(
+            allocatedBytes("export cars with entities", entities)
+        );
+    }
+
+    @Test
+    void findAllOwnersWithProjection() {
+        Supplier<List<OwnerDTO>> entities = () -> {
+            List<OwnerDTO> result = ownerRepository.findAll(Sort.by("id")).stream().map(ownerMapper::toDto).toList();
+            em.clear();
+            return result;
+        };
+        Supplier<List<OwnerDTO>> projection = ownerService::findAll;
+
+        assertThat(projection.get()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(entities.get());
+        assertThat(allocatedBytes("find all owners with projection", projection)).isLessThan(
+            allocatedBytes("find all owners with entities", entities)
+        );
+    }
+
+    /**
+     * @return the median number of bytes allocated by the test thread to run a read path, after a warm-up round.
+     */
+    private long allocatedBytes(String name, Supplier<? extends List<?>> readPath) {
+        readPath.get();
+        long[] bytes = new long[ROUNDS];
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            long before = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+            readPath.get();
+            bytes[i] = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - before;
+        }
+        Arrays.sort(bytes);
+        LOG.info("{}: {} KB allocated, {} ms per round", name, bytes[ROUNDS / 2] / 1024, (System.nanoTime() - start) / ROUNDS / 1_000_000);
+        return bytes[ROUNDS / 2];
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link AdaptiveConcurrencyLimiter}.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(20, 10, 100, 0.5, meterRegistry);
+    }
+
+    @Test
+    void shouldRejectRequestsOverTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire(false)).isEqualTo(i);
+        }
+
+        assertThat(limiter.tryAcquire(false)).isEqualTo(-1);
+        assertThat(limiter.getInFlight()).isEqualTo(20);
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("priority", "false").counter().count()).isEqualTo(1);
+
+        limiter.release();
+        assertThat(limiter.tryAcquire(false)).isEqualTo(19);
+    }
+
+    @Test
+    void shouldLetPriorityRequestsUseTheHeadroom() {
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire(false);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(true)).isEqualTo(20 + i);
+        }
+        assertThat(limiter.tryAcquire(true)).isEqualTo(-1);
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("priority", "true").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("priority", "false").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldIncreaseTheLimitWhileTheLatencyIsStable() {
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(LATENCY, limiter.getLimit());
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(100);
+        assertThat(limiter.getQueue()).isZero();
+        assertThat(meterRegistry.get("http.server.concurrency.limit").gauge().value()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldDecreaseTheLimitWhenTheLatencyGrows() {
+        limiter.onSample(LATENCY, 20);
+        int limit = limiter.getLimit();
+
+        for (int i = 0; i < 5; i++) {
+            limiter.onSample(4 * LATENCY, limiter.getLimit());
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(limit);
+        assertThat(limiter.getQueue()).isPositive();
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(4 * LATENCY, limiter.getLimit());
+        }
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldNotChangeTheLimitWhenFarFromReached() {
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(LATENCY, 1);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+}
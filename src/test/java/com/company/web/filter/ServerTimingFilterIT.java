@@ -0,0 +1,116 @@
+package com.company.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.company.IntegrationTest;
+import com.company.config.TimingMetricsTrackerFactory;
+import com.company.domain.Owner;
+import com.company.management.RequestTimings;
+import com.company.repository.OwnerRepository;
+import com.company.security.AuthoritiesConstants;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link ServerTimingFilter}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+class ServerTimingFilterIT {
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Owner owner;
+
+    @BeforeEach
+    void createOwner() {
+        owner = ownerRepository.saveAndFlush(new Owner().name("Server Timing").gender("F"));
+    }
+
+    @AfterEach
+    void deleteOwner() {
+        ownerRepository.delete(owner);
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void shouldBreakDownTheTimeOfTheRequestForTheAdmins() throws Exception {
+        restMockMvc
+            .perform(get("/api/owners"))
+            .andExpect(status().isOk())
+            .andExpect(
+                header()
+                    .string(
+                        RequestTimings.SERVER_TIMING_HEADER,
+                        matchesPattern(
+                            "db-connection;dur=[0-9.]+, db;dur=[0-9.]+;desc=\"[1-9][0-9]* statements\", mapping;dur=[0-9.]+, " +
+                            "serialization;dur=[0-9.]+, total;dur=[0-9.]+"
+                        )
+                    )
+            );
+
+        assertThat(
+            meterRegistry.get("http.server.timing").tag("uri", "/api/owners").tag("part", "serialization").timer().count()
+        ).isPositive();
+        assertThat(meterRegistry.get("http.server.statements").tag("uri", "/api/owners").summary().totalAmount()).isPositive();
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void shouldTimeTheHibernateStatementsAndTheMappers() throws Exception {
+        restMockMvc
+            .perform(get("/api/admin/users"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(RequestTimings.SERVER_TIMING_HEADER, containsString("statements")));
+        restMockMvc.perform(get("/api/owners/{id}", owner.getId())).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("http.server.statements").tag("uri", "/api/admin/users").summary().totalAmount()).isPositive();
+        Timer mapping = meterRegistry.get("http.server.timing").tag("uri", "/api/owners/{id}").tag("part", "mapping").timer();
+        assertThat(mapping.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void shouldTimeTheConnectionsAtThePoolAndKeepItsMetrics() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        assertThat(pool.getMetricsTrackerFactory()).isInstanceOf(TimingMetricsTrackerFactory.class);
+
+        restMockMvc.perform(get("/api/owners")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", pool.getPoolName()).timer().count()).isPositive();
+    }
+
+    @Test
+    @WithMockUser
+    void shouldNotSendTheServerTimingHeaderToTheUsers() throws Exception {
+        restMockMvc
+            .perform(get("/api/owners"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(RequestTimings.SERVER_TIMING_HEADER));
+    }
+}
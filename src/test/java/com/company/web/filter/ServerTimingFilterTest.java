@@ -0,0 +1,103 @@
+package com.company.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.company.management.RequestTimings;
+import com.company.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Test class for the {@link ServerTimingFilter}.
+ */
+class ServerTimingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void login(String authority) {
+        SecurityContextHolder.getContext()
+            .setAuthentication(new UsernamePasswordAuthenticationToken("user", "password", AuthorityUtils.createAuthorityList(authority)));
+    }
+
+    private static FilterChain ownersEndpoint() {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/owners");
+            RequestTimings timings = RequestTimings.current();
+            timings.addConnectionAcquisition(TimeUnit.MILLISECONDS.toNanos(2));
+            timings.addStatement(TimeUnit.MILLISECONDS.toNanos(3));
+            timings.addStatement(TimeUnit.MILLISECONDS.toNanos(4));
+            long mapping = timings.startMapping();
+            long nestedMapping = timings.startMapping();
+            timings.stopMapping(nestedMapping);
+            timings.stopMapping(mapping);
+            timings.addSerialization(TimeUnit.MILLISECONDS.toNanos(1));
+        };
+    }
+
+    @Test
+    void shouldRecordTheTimingsByEndpoint() throws Exception {
+        login(AuthoritiesConstants.USER);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(meterRegistry, false).doFilter(new MockHttpServletRequest("GET", "/api/owners"), response, ownersEndpoint());
+
+        assertThat(response.getHeader(RequestTimings.SERVER_TIMING_HEADER)).isNull();
+        assertThat(
+            meterRegistry.get("http.server.timing").tag("uri", "/api/owners").tag("part", "jdbc").timer().totalTime(TimeUnit.MILLISECONDS)
+        ).isEqualTo(7);
+        assertThat(
+            meterRegistry.get("http.server.timing").tag("part", "connection").timer().totalTime(TimeUnit.MILLISECONDS)
+        ).isEqualTo(2);
+        assertThat(meterRegistry.get("http.server.timing").tag("part", "mapping").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.statements").tag("method", "GET").summary().totalAmount()).isEqualTo(2);
+        assertThat(RequestTimings.current()).isNull();
+    }
+
+    @Test
+    void shouldSendTheServerTimingHeaderToTheAdmins() throws Exception {
+        login(AuthoritiesConstants.ADMIN);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(meterRegistry, false).doFilter(new MockHttpServletRequest("GET", "/api/owners"), response, ownersEndpoint());
+
+        assertThat(response.getHeader(RequestTimings.SERVER_TIMING_HEADER)).matches(
+            "db-connection;dur=2\\.0, db;dur=7\\.0;desc=\"2 statements\", mapping;dur=[0-9.]+, serialization;dur=1\\.0, total;dur=[0-9.]+"
+        );
+    }
+
+    @Test
+    void shouldSendTheServerTimingHeaderToEveryoneInDebugMode() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(meterRegistry, true).doFilter(new MockHttpServletRequest("GET", "/api/owners"), response, ownersEndpoint());
+
+        assertThat(response.getHeader(RequestTimings.SERVER_TIMING_HEADER)).contains("desc=\"2 statements\"");
+    }
+
+    @Test
+    void shouldNotTimeTheOtherRequests() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        new ServerTimingFilter(meterRegistry, true).doFilter(new MockHttpServletRequest("GET", "/management/health"), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getHeader(RequestTimings.SERVER_TIMING_HEADER)).isNull();
+        assertThat(meterRegistry.find("http.server.timing").timers()).isEmpty();
+    }
+}
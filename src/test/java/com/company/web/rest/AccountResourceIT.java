@@ -1,6 +1,7 @@
 package com.company.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,7 +28,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -60,6 +63,9 @@ class AccountResourceIT {
     @Autowired
     private MockMvc restAccountMockMvc;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Long numberOfUsers;
 
     @BeforeEach
@@ -122,6 +128,71 @@ class AccountResourceIT {
         userService.deleteUser(TEST_USER_LOGIN);
     }
 
+    @Test
+    @WithMockUser(TEST_USER_LOGIN)
+    void testGetExistingAccountNotModified() throws Exception {
+        AdminUserDTO user = new AdminUserDTO();
+        user.setLogin(TEST_USER_LOGIN);
+        user.setEmail("john.doe@jhipster.com");
+        user.setAuthorities(Set.of(AuthoritiesConstants.USER));
+        userService.createUser(user);
+
+        // The response may be kept by the client, to be revalidated
+        String eTag = restAccountMockMvc
+            .perform(get("/api/account").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(header().doesNotExist(HttpHeaders.PRAGMA))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restAccountMockMvc
+            .perform(get("/api/account").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        userService.deleteUser(TEST_USER_LOGIN);
+    }
+
+    @Test
+    void testAccountsOfUsersWithTheSameAuthoritiesHaveDifferentETags() throws Exception {
+        String firstETag = createAccountAndGetETag("etag-user-1");
+        String secondETag = createAccountAndGetETag("etag-user-2");
+
+        assertThat(firstETag).isNotEqualTo(secondETag);
+        restAccountMockMvc
+            .perform(
+                get("/api/account")
+                    .with(user("etag-user-2"))
+                    .accept(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.IF_NONE_MATCH, firstETag)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.login").value("etag-user-2"));
+
+        userService.deleteUser("etag-user-1");
+        userService.deleteUser("etag-user-2");
+    }
+
+    private String createAccountAndGetETag(String login) throws Exception {
+        AdminUserDTO user = new AdminUserDTO();
+        user.setLogin(login);
+        user.setEmail(login + "@jhipster.com");
+        user.setAuthorities(Set.of(AuthoritiesConstants.USER));
+        userService.createUser(user);
+        // the same date for both users, which the auditing would not let the repository write
+        jdbcTemplate.update("update jhi_user set last_modified_date = null where login = ?", login);
+
+        return restAccountMockMvc
+            .perform(get("/api/account").with(user(login)).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    }
+
     @Test
     void testGetUnknownAccount() throws Exception {
         restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_PROBLEM_JSON)).andExpect(status().isUnauthorized());
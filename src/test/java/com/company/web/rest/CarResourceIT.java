@@ -4,28 +4,44 @@ import static com.company.domain.CarAsserts.*;
 import static com.company.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.company.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.company.IntegrationTest;
 import com.company.domain.Car;
+import com.company.domain.Owner;
 import com.company.repository.CarRepository;
+import com.company.service.CarChangeStream;
+import com.company.service.CarQueryService;
 import com.company.service.dto.CarDTO;
+import com.company.service.dto.ChangesDTO;
+import com.company.service.event.CarChangedEvent;
 import com.company.service.mapper.CarMapper;
+import com.company.web.util.CursorUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -34,6 +50,7 @@ import org.springframework.transaction.annotation.Transactional;
 @IntegrationTest
 @AutoConfigureMockMvc
 @WithMockUser
+@RecordApplicationEvents
 class CarResourceIT {
 
     private static final String DEFAULT_NAME = "AAAAAAAAAA";
@@ -42,8 +59,11 @@ class CarResourceIT {
     private static final String DEFAULT_MODEL = "AAAAAAAAAA";
     private static final String UPDATED_MODEL = "BBBBBBBBBB";
 
+    private static final String BULK_NAME = "CCCCCCCCCC";
+
     private static final BigDecimal DEFAULT_PRICE = new BigDecimal(1);
     private static final BigDecimal UPDATED_PRICE = new BigDecimal(2);
+    private static final BigDecimal SMALLER_PRICE = new BigDecimal(1 - 1);
 
     private static final String ENTITY_API_URL = "/api/cars";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
@@ -60,9 +80,18 @@ class CarResourceIT {
     @Autowired
     private CarMapper carMapper;
 
+    @Autowired
+    private CarChangeStream carChangeStream;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restCarMockMvc;
 
@@ -92,15 +121,18 @@ class CarResourceIT {
 
     @BeforeEach
     public void initTest() {
+        cacheManager.getCache(CarQueryService.CARS_BY_CRITERIA_CACHE).clear();
+        cacheManager.getCache(CarQueryService.CAR_COUNT_BY_CRITERIA_CACHE).clear();
         car = createEntity();
     }
 
     @AfterEach
     public void cleanup() {
         if (insertedCar != null) {
-            carRepository.delete(insertedCar);
+            carRepository.deleteById(insertedCar.getId());
             insertedCar = null;
         }
+        carRepository.deleteAll(carRepository.findAllByNameIn(List.of(BULK_NAME)));
     }
 
     @Test
@@ -213,6 +245,451 @@ class CarResourceIT {
             .andExpect(jsonPath("$.[*].price").value(hasItem(sameNumber(DEFAULT_PRICE))));
     }
 
+    @Test
+    @Transactional
+    void getAllCarsWithCursor() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+        Car otherCar = carRepository.saveAndFlush(createUpdatedEntity());
+
+        // Get the first window, sorted by price
+        String nextCursor = restCarMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&sort=price"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(header().exists(CursorUtil.NEXT_CURSOR_HEADER))
+            .andReturn()
+            .getResponse()
+            .getHeader(CursorUtil.NEXT_CURSOR_HEADER);
+
+        // Get the next window, which must not repeat the previous one
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1000&sort=price&after=" + nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(CursorUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(otherCar.getId().intValue())));
+
+        carRepository.delete(otherCar);
+    }
+
+    @Test
+    @Transactional
+    void getAllCarsWithCursorAndCriteria() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+        Car otherCar = carRepository.saveAndFlush(createUpdatedEntity());
+
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL + "?size=10&sort=price&model.equals=" + UPDATED_MODEL))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(CursorUtil.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(otherCar.getId().intValue()));
+
+        carRepository.delete(otherCar);
+    }
+
+    @Test
+    @Transactional
+    void getAllCarsWithoutWindowIsCapped() throws Exception {
+        // Initialize the database
+        List<Car> cars = IntStream.rangeClosed(0, CarQueryService.MAX_RESULT_SIZE)
+            .mapToObj(i -> createEntity().name("capped-" + i))
+            .toList();
+        carRepository.saveAllAndFlush(cars);
+
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL + "?name.contains=capped-"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(CarQueryService.MAX_RESULT_SIZE)))
+            .andExpect(header().exists(CursorUtil.NEXT_CURSOR_HEADER));
+
+        carRepository.deleteAll(cars);
+    }
+
+    @Test
+    @Transactional
+    void getAllCarsWithInvalidCursor() throws Exception {
+        restCarMockMvc.perform(get(ENTITY_API_URL + "?size=10&after=invalid!")).andExpect(status().isBadRequest());
+        restCarMockMvc.perform(get(ENTITY_API_URL + "?size=0")).andExpect(status().isBadRequest());
+        restCarMockMvc.perform(get(ENTITY_API_URL + "?size=10&sort=model")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getCarsByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+
+        Long id = car.getId();
+
+        defaultCarFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultCarFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultCarFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllCarsByNameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+
+        // Get all the carList where name equals to
+        defaultCarFiltering("name.equals=" + DEFAULT_NAME, "name.equals=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllCarsByNameIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+
+        // Get all the carList where name in
+        defaultCarFiltering("name.in=" + DEFAULT_NAME + "," + UPDATED_NAME, "name.in=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllCarsByModelContainsSomething() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+
+        // Get all the carList where model contains
+        defaultCarFiltering("model.contains=" + DEFAULT_MODEL, "model.contains=" + UPDATED_MODEL);
+    }
+
+    @Test
+    @Transactional
+    void getAllCarsByModelNotContainsSomething() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+
+        // Get all the carList where model does not contain
+        defaultCarFiltering("model.doesNotContain=" + UPDATED_MODEL, "model.doesNotContain=" + DEFAULT_MODEL);
+    }
+
+    @Test
+    @Transactional
+    void getAllCarsByPriceIsInRange() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+
+        // Get all the carList where price is between two prices
+        defaultCarFiltering("price.greaterThanOrEqual=" + DEFAULT_PRICE, "price.greaterThan=" + DEFAULT_PRICE);
+
+        defaultCarFiltering("price.lessThan=" + UPDATED_PRICE, "price.lessThan=" + DEFAULT_PRICE);
+
+        defaultCarFiltering(
+            "model.equals=" + DEFAULT_MODEL + "&price.greaterThan=" + SMALLER_PRICE + "&price.lessThanOrEqual=" + UPDATED_PRICE,
+            "model.equals=" + DEFAULT_MODEL + "&price.greaterThan=" + DEFAULT_PRICE + "&price.lessThanOrEqual=" + UPDATED_PRICE
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllCarsByOwnerIsEqualToSomething() throws Exception {
+        Owner owner;
+        if (TestUtil.findAll(em, Owner.class).isEmpty()) {
+            carRepository.saveAndFlush(car);
+            owner = OwnerResourceIT.createEntity();
+        } else {
+            owner = TestUtil.findAll(em, Owner.class).get(0);
+        }
+        em.persist(owner);
+        em.flush();
+        car.setOwner(owner);
+        insertedCar = carRepository.saveAndFlush(car);
+        Long ownerId = owner.getId();
+        // Get all the carList where owner equals to ownerId
+        defaultCarShouldBeFound("ownerId.equals=" + ownerId);
+
+        // Get all the carList where owner equals to (ownerId + 1)
+        defaultCarShouldNotBeFound("ownerId.equals=" + (ownerId + 1));
+    }
+
+    @Test
+    @Transactional
+    void searchCacheIsClearedOnWrite() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+
+        // Cache the search result
+        defaultCarShouldBeFound("model.equals=" + DEFAULT_MODEL);
+
+        Car updatedCar = carRepository.findById(car.getId()).orElseThrow();
+        em.detach(updatedCar);
+        updatedCar.name(DEFAULT_NAME).model(UPDATED_MODEL).price(DEFAULT_PRICE);
+        restCarMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, car.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(carMapper.toDto(updatedCar)))
+            )
+            .andExpect(status().isOk());
+
+        defaultCarShouldNotBeFound("model.equals=" + DEFAULT_MODEL);
+    }
+
+    private void defaultCarFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultCarShouldBeFound(shouldBeFound);
+        defaultCarShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultCarShouldBeFound(String filter) throws Exception {
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(car.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath("$.[*].model").value(hasItem(DEFAULT_MODEL)))
+            .andExpect(jsonPath("$.[*].price").value(hasItem(sameNumber(DEFAULT_PRICE))));
+
+        // Check, that the count call also returns 1
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultCarShouldNotBeFound(String filter) throws Exception {
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    void searchCars() throws Exception {
+        // Create the Car outside of a test transaction, as the search index is updated after commit
+        CarDTO carDTO = om.readValue(
+            restCarMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(carMapper.toDto(car))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            CarDTO.class
+        );
+        insertedCar = carMapper.toEntity(carDTO);
+
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q=" + DEFAULT_NAME.toLowerCase()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").value(hasItem(carDTO.getId().intValue())));
+
+        restCarMockMvc.perform(delete(ENTITY_API_URL_ID, carDTO.getId())).andExpect(status().isNoContent());
+        insertedCar = null;
+
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q=" + DEFAULT_NAME.toLowerCase()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void searchCarsWithInvalidLimit() throws Exception {
+        restCarMockMvc.perform(get(ENTITY_API_URL + "/_search?q=a&limit=0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportCarsAsNdjson() throws Exception {
+        // Initialize the database, outside of the test transaction as the export runs on another thread
+        insertedCar = carRepository.saveAndFlush(car);
+
+        MvcResult result = restCarMockMvc
+            .perform(get(ENTITY_API_URL + "/_export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restCarMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(containsString("{\"id\":" + car.getId() + ",\"name\":\"" + DEFAULT_NAME + "\"")));
+    }
+
+    @Test
+    void exportCarsAsCsv() throws Exception {
+        // Initialize the database, outside of the test transaction as the export runs on another thread
+        insertedCar = carRepository.saveAndFlush(car);
+
+        MvcResult result = restCarMockMvc
+            .perform(get(ENTITY_API_URL + "/_export?format=csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restCarMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("id;name;model;price;owner_id\n")))
+            .andExpect(content().string(containsString(car.getId() + ";" + DEFAULT_NAME + ";" + DEFAULT_MODEL + ";" + DEFAULT_PRICE.setScale(2) + ";\n")));
+    }
+
+    @Test
+    void exportCarsWithUnsupportedFormat() throws Exception {
+        restCarMockMvc.perform(get(ENTITY_API_URL + "/_export?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkUpsertCars() throws Exception {
+        // Initialize the database, outside of the test transaction as each chunk is committed on its own
+        insertedCar = carRepository.saveAndFlush(car);
+
+        String body = String.join(
+            "\n",
+            "{\"name\":\"" + DEFAULT_NAME + "\",\"model\":\"" + UPDATED_MODEL + "\",\"price\":" + UPDATED_PRICE + "}",
+            "{\"name\":\"" + BULK_NAME + "\",\"model\":\"" + DEFAULT_MODEL + "\",\"price\":" + DEFAULT_PRICE + "}",
+            "",
+            "{\"name\":",
+            "{\"name\":\"DDDDDDDDDD\",\"price\":" + DEFAULT_PRICE + "}"
+        );
+        restCarMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(4))
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.updated").value(1))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors[0].line").value(4))
+            .andExpect(jsonPath("$.errors[1].line").value(5))
+            .andExpect(jsonPath("$.errors[1].message").value(containsString("model")));
+
+        Car updatedCar = carRepository.findById(insertedCar.getId()).orElseThrow();
+        assertThat(updatedCar.getModel()).isEqualTo(UPDATED_MODEL);
+        assertThat(updatedCar.getPrice()).isEqualByComparingTo(UPDATED_PRICE);
+        assertThat(carRepository.findAllByNameIn(List.of(BULK_NAME))).hasSize(1);
+    }
+
+    @Test
+    void bulkUpsertCarsWithUnknownOwner() throws Exception {
+        String body = String.join(
+            "\n",
+            "{\"name\":\"" + BULK_NAME + "\",\"model\":\"" + DEFAULT_MODEL + "\",\"price\":" + DEFAULT_PRICE + "}",
+            "{\"name\":\"" +
+            DEFAULT_NAME +
+            "\",\"model\":\"" +
+            DEFAULT_MODEL +
+            "\",\"price\":" +
+            DEFAULT_PRICE +
+            ",\"owner\":{\"id\":" +
+            Long.MAX_VALUE +
+            "}}"
+        );
+        restCarMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(2))
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.errors[0].line").value(2));
+
+        assertThat(carRepository.findAllByNameIn(List.of(BULK_NAME))).hasSize(1);
+        assertThat(carRepository.findAllByNameIn(List.of(DEFAULT_NAME))).isEmpty();
+    }
+
+    @Test
+    void getCarChanges() throws Exception {
+        // Write the cars outside of a test transaction, as only the committed changes are read
+        ChangesDTO<CarDTO> changes = getCarChanges("?limit=1000");
+        while (changes.isHasMore()) {
+            changes = getCarChanges(nextChanges(changes, 1000));
+        }
+
+        List<Car> cars = carRepository.saveAllAndFlush(List.of(car, createEntity().name(BULK_NAME)));
+        insertedCar = cars.get(0);
+        Long otherCarId = cars.get(1).getId();
+
+        // Both cars have the revision of their transaction, which is read one car at a time
+        changes = getCarChanges(nextChanges(changes, 1));
+        assertThat(changes.getChanged()).extracting(CarDTO::getId).containsExactly(insertedCar.getId());
+        assertThat(changes.getDeleted()).isEmpty();
+        assertThat(changes.isHasMore()).isTrue();
+        assertThat(changes.getNextId()).isEqualTo(insertedCar.getId());
+        changes = getCarChanges(nextChanges(changes, 1));
+        assertThat(changes.getChanged()).extracting(CarDTO::getId).containsExactly(otherCarId);
+        assertThat(changes.getChanged().get(0).getName()).isEqualTo(BULK_NAME);
+
+        restCarMockMvc.perform(delete(ENTITY_API_URL_ID, otherCarId)).andExpect(status().isNoContent());
+
+        changes = getCarChanges(nextChanges(changes, 1000));
+        assertThat(changes.getChanged()).isEmpty();
+        assertThat(changes.getDeleted()).containsExactly(otherCarId);
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(changes.getNextId()).isNull();
+    }
+
+    @Test
+    void streamCars() throws Exception {
+        MvcResult stream = restCarMockMvc.perform(get(ENTITY_API_URL + "/_stream")).andExpect(request().asyncStarted()).andReturn();
+        assertThat(carChangeStream.getSubscriberCount()).isPositive();
+
+        // Create the Car outside of a test transaction, as the changes are streamed after commit
+        CarDTO carDTO = om.readValue(
+            restCarMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(carMapper.toDto(car))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            CarDTO.class
+        );
+        insertedCar = carMapper.toEntity(carDTO);
+
+        restCarMockMvc.perform(delete(ENTITY_API_URL_ID, carDTO.getId())).andExpect(status().isNoContent());
+        insertedCar = null;
+
+        String created = "event:created\ndata:{\"id\":" + carDTO.getId() + ",";
+        String deleted = "event:deleted\ndata:{\"id\":" + carDTO.getId() + "}";
+        for (int i = 0; i < 100 && !stream.getResponse().getContentAsString().contains(deleted); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(stream.getResponse().getContentAsString()).contains(created, deleted);
+
+        int subscribers = carChangeStream.getSubscriberCount();
+        stream.getRequest().getAsyncContext().complete();
+        assertThat(carChangeStream.getSubscriberCount()).isEqualTo(subscribers - 1);
+    }
+
+    @Test
+    void getCarChangesWithInvalidLimit() throws Exception {
+        restCarMockMvc.perform(get(ENTITY_API_URL + "/_changes?limit=0")).andExpect(status().isBadRequest());
+    }
+
+    private ChangesDTO<CarDTO> getCarChanges(String query) throws Exception {
+        return om.readValue(
+            restCarMockMvc
+                .perform(get(ENTITY_API_URL + "/_changes" + query))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            new TypeReference<>() {}
+        );
+    }
+
+    private static String nextChanges(ChangesDTO<?> changes, int limit) {
+        String id = changes.getNextId() != null ? "&id=" + changes.getNextId() : "";
+        return "?revision=" + changes.getNextRevision() + id + "&limit=" + limit;
+    }
+
     @Test
     @Transactional
     void getCar() throws Exception {
@@ -230,6 +707,32 @@ class CarResourceIT {
             .andExpect(jsonPath("$.price").value(sameNumber(DEFAULT_PRICE)));
     }
 
+    @Test
+    @Transactional
+    void getCarNotModified() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+
+        // The response may be kept by the client, to be revalidated
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL_ID, car.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + car.getVersion() + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(header().doesNotExist(HttpHeaders.PRAGMA));
+
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL_ID, car.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"" + car.getVersion() + "\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(content().string(""));
+
+        restCarMockMvc
+            .perform(get(ENTITY_API_URL_ID, car.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"" + (car.getVersion() + 1) + "\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(car.getId().intValue()));
+    }
+
     @Test
     @Transactional
     void getNonExistingCar() throws Exception {
@@ -261,6 +764,81 @@ class CarResourceIT {
         assertPersistedCarToMatchAllProperties(updatedCar);
     }
 
+    @Test
+    @Transactional
+    void putExistingCarWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+        long version = car.getVersion();
+        String eTag = "\"" + version + "\"";
+
+        CarDTO carDTO = carMapper.toDto(car);
+        carDTO.setName(UPDATED_NAME);
+        carDTO.setVersion(null);
+
+        restCarMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, carDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (version + 1) + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(carDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restCarMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, carDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(carDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""))
+            .andExpect(jsonPath("$.version").value(version + 1));
+
+        // The ETag of the first write is now stale
+        restCarMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, carDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(carDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+        assertThat(getPersistedCar(car).getName()).isEqualTo(UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void putExistingCarWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+        long staleVersion = car.getVersion() - 1;
+
+        CarDTO carDTO = carMapper.toDto(car);
+        carDTO.setName(UPDATED_NAME);
+        carDTO.setVersion(staleVersion);
+
+        restCarMockMvc
+            .perform(put(ENTITY_API_URL_ID, carDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(carDTO)))
+            .andExpect(status().isConflict());
+
+        CarDTO patch = new CarDTO();
+        patch.setId(car.getId());
+        patch.setModel(UPDATED_MODEL);
+        patch.setVersion(staleVersion);
+
+        restCarMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, patch.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(patch))
+            )
+            .andExpect(status().isConflict());
+
+        em.clear();
+        assertThat(getPersistedCar(car).getName()).isEqualTo(DEFAULT_NAME);
+        assertThat(getPersistedCar(car).getModel()).isEqualTo(DEFAULT_MODEL);
+    }
+
     @Test
     @Transactional
     void putNonExistingCar() throws Exception {
@@ -269,16 +847,44 @@ class CarResourceIT {
 
         // Create the Car
         CarDTO carDTO = carMapper.toDto(car);
+        carDTO.setVersion(0L);
 
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restCarMockMvc
             .perform(put(ENTITY_API_URL_ID, carDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(carDTO)))
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Car in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void putCarWithoutVersion() throws Exception {
+        // Initialize the database
+        insertedCar = carRepository.saveAndFlush(car);
+
+        CarDTO carDTO = carMapper.toDto(car);
+        carDTO.setVersion(null);
+        carDTO.setName(UPDATED_NAME);
+
+        restCarMockMvc
+            .perform(put(ENTITY_API_URL_ID, carDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(carDTO)))
+            .andExpect(status().isPreconditionRequired());
+        assertThat(carRepository.findById(car.getId())).hasValueSatisfying(found -> assertThat(found.getName()).isEqualTo(DEFAULT_NAME));
+
+        // If-Match: * explicitly overwrites any version
+        restCarMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, carDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "*")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(carDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME));
+    }
+
     @Test
     @Transactional
     void putWithIdMismatchCar() throws Exception {
@@ -389,7 +995,7 @@ class CarResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, carDTO.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(carDTO))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Car in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -450,6 +1056,14 @@ class CarResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void deleteNonExistingCar() throws Exception {
+        restCarMockMvc.perform(delete(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNoContent());
+
+        assertThat(applicationEvents.stream(CarChangedEvent.class)).isEmpty();
+    }
+
     protected long getRepositoryCount() {
         return carRepository.count();
     }
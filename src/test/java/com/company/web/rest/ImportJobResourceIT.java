@@ -0,0 +1,172 @@
+package com.company.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.company.IntegrationTest;
+import com.company.domain.Car;
+import com.company.repository.CarRepository;
+import com.company.repository.OwnerRepository;
+import com.company.security.AuthoritiesConstants;
+import com.company.service.dto.ImportJobDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link ImportJobResource} REST controller.
+ * <p>
+ * The tests are not transactional as each chunk of an import is committed on its own; the {@code importJobExecutor}
+ * of the tests runs the jobs synchronously.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ImportJobResourceIT {
+
+    private static final String OWNER_NAME = "Import Owner";
+
+    private static final String CAR_NAME = "Import Car";
+
+    private static final String ENTITY_API_URL = "/api/import-jobs";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private MockMvc restImportJobMockMvc;
+
+    @AfterEach
+    public void cleanup() {
+        carRepository.deleteAll(carRepository.findAllByNameIn(List.of(CAR_NAME)));
+        ownerRepository.deleteAll(ownerRepository.findAllByNameIn(List.of(OWNER_NAME)));
+    }
+
+    @Test
+    void importOwnersThenCars() throws Exception {
+        ImportJobDTO ownerJob = upload("OWNERS", "id;name;gender\n1;" + OWNER_NAME + ";x\n");
+
+        assertThat(ownerJob.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(ownerJob.getResult().getCreated()).isEqualTo(1);
+
+        ImportJobDTO carJob = upload(
+            "CARS",
+            "name;model;price;owner\n" + CAR_NAME + ";model;10.50;" + OWNER_NAME + "\nOther Car;model;abc;\nOther Car;model;1;Nobody\n"
+        );
+
+        assertThat(carJob.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(carJob.getBytesRead()).isEqualTo(carJob.getTotalBytes());
+        assertThat(carJob.getResult().getReceived()).isEqualTo(3);
+        assertThat(carJob.getResult().getCreated()).isEqualTo(1);
+        assertThat(carJob.getResult().getFailed()).isEqualTo(2);
+        assertThat(carJob.getResult().getErrors()).extracting("line").containsExactly(3L, 4L);
+
+        List<Car> cars = carRepository.findAllByNameIn(List.of(CAR_NAME));
+        assertThat(cars).hasSize(1);
+        assertThat(cars.get(0).getPrice()).isEqualByComparingTo(new BigDecimal("10.50"));
+        assertThat(cars.get(0).getOwner().getId()).isEqualTo(ownerRepository.findAllByNameIn(List.of(OWNER_NAME)).get(0).getId());
+    }
+
+    @Test
+    void importWithMissingColumn() throws Exception {
+        ImportJobDTO job = upload("CARS", "name;price\n" + CAR_NAME + ";1\n");
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.FAILED);
+        assertThat(job.getMessage()).isEqualTo("Missing column model");
+        assertThat(carRepository.findAllByNameIn(List.of(CAR_NAME))).isEmpty();
+    }
+
+    @Test
+    void importEmptyFile() throws Exception {
+        restImportJobMockMvc
+            .perform(
+                multipart(ENTITY_API_URL).file(new MockMultipartFile("file", "cars.csv", "text/csv", new byte[0])).param("type", "CARS")
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getImportJob() throws Exception {
+        ImportJobDTO job = upload("OWNERS", "name;gender\n" + OWNER_NAME + ";x\n");
+
+        restImportJobMockMvc
+            .perform(get(ENTITY_API_URL_ID, job.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(job.getId()))
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.result.created").value(1));
+        restImportJobMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(job.getId())));
+    }
+
+    @Test
+    void importWithUpperCaseHeaderInTurkishLocale() throws Exception {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            ImportJobDTO job = upload("CARS", "NAME;MODEL;PRICE\n" + CAR_NAME + ";model;1\n");
+
+            assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+            assertThat(job.getResult().getCreated()).isEqualTo(1);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void getImportJobOfAnotherUser() throws Exception {
+        ImportJobDTO job = upload("OWNERS", "name;gender\n" + OWNER_NAME + ";x\n");
+
+        restImportJobMockMvc.perform(get(ENTITY_API_URL_ID, job.getId()).with(user("other"))).andExpect(status().isNotFound());
+        restImportJobMockMvc
+            .perform(get(ENTITY_API_URL).with(user("other")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(job.getId()))));
+        restImportJobMockMvc
+            .perform(get(ENTITY_API_URL).with(user("admin").authorities(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(job.getId())));
+    }
+
+    @Test
+    void getNonExistingImportJob() throws Exception {
+        restImportJobMockMvc.perform(get(ENTITY_API_URL_ID, "unknown")).andExpect(status().isNotFound());
+    }
+
+    private ImportJobDTO upload(String type, String content) throws Exception {
+        MvcResult result = restImportJobMockMvc
+            .perform(
+                multipart(ENTITY_API_URL)
+                    .file(new MockMultipartFile("file", "import.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8)))
+                    .param("type", type)
+            )
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists("Location"))
+            .andReturn();
+        return om.readValue(result.getResponse().getContentAsString(), ImportJobDTO.class);
+    }
+}
@@ -0,0 +1,203 @@
+package com.company.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.company.IntegrationTest;
+import com.company.repository.CarRepository;
+import com.company.repository.OwnerRepository;
+import com.company.service.dto.CarDTO;
+import com.company.service.dto.OwnerDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link OwnerFleetSummaryResource} REST controller.
+ * <p>
+ * The tests are not transactional as the summaries are written when the transactions changing the cars commit.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class OwnerFleetSummaryResourceIT {
+
+    private static final String FIRST_OWNER_NAME = "Fleet Owner 1";
+
+    private static final String SECOND_OWNER_NAME = "Fleet Owner 2";
+
+    private static final String CAR_NAME = "Fleet Car";
+
+    private static final String OTHER_CAR_NAME = "Fleet Car 2";
+
+    private static final String ENTITY_API_URL = "/api/owner-fleet-summaries";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{ownerId}";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private MockMvc restOwnerFleetSummaryMockMvc;
+
+    private OwnerDTO firstOwner;
+
+    private OwnerDTO secondOwner;
+
+    @BeforeEach
+    public void initTest() throws Exception {
+        firstOwner = createOwner(FIRST_OWNER_NAME);
+        secondOwner = createOwner(SECOND_OWNER_NAME);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        carRepository.deleteAll(carRepository.findAllByNameIn(List.of(CAR_NAME, OTHER_CAR_NAME)));
+        ownerRepository.deleteAll(ownerRepository.findAllByNameIn(List.of(FIRST_OWNER_NAME, SECOND_OWNER_NAME)));
+    }
+
+    @Test
+    void summaryOfNewOwnerIsEmpty() throws Exception {
+        expectSummary(firstOwner, 0, "0.00");
+        restOwnerFleetSummaryMockMvc
+            .perform(get(ENTITY_API_URL_ID, firstOwner.getId()))
+            .andExpect(jsonPath("$.ownerName").value(FIRST_OWNER_NAME));
+    }
+
+    @Test
+    void summaryFollowsCarChanges() throws Exception {
+        CarDTO car = om.readValue(
+            restOwnerFleetSummaryMockMvc
+                .perform(post("/api/cars").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(car(CAR_NAME, "10"))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            CarDTO.class
+        );
+        expectSummary(firstOwner, 1, "10.00");
+
+        car.setPrice(new BigDecimal("15.50"));
+        restOwnerFleetSummaryMockMvc
+            .perform(put("/api/cars/{id}", car.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(car)))
+            .andExpect(status().isOk());
+        expectSummary(firstOwner, 1, "15.50");
+
+        CarDTO patch = new CarDTO();
+        patch.setId(car.getId());
+        patch.setOwner(secondOwner);
+        restOwnerFleetSummaryMockMvc
+            .perform(
+                patch("/api/cars/{id}", car.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(patch))
+            )
+            .andExpect(status().isOk());
+        expectSummary(firstOwner, 0, "0.00");
+        expectSummary(secondOwner, 1, "15.50");
+
+        car.setOwner(firstOwner);
+        car.setVersion(null);
+        restOwnerFleetSummaryMockMvc
+            .perform(
+                put("/api/cars/{id}", car.getId())
+                    .header(HttpHeaders.IF_MATCH, "*")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(car))
+            )
+            .andExpect(status().isOk());
+        expectSummary(firstOwner, 1, "15.50");
+        expectSummary(secondOwner, 0, "0.00");
+
+        restOwnerFleetSummaryMockMvc.perform(delete("/api/cars/{id}", car.getId())).andExpect(status().isNoContent());
+        expectSummary(firstOwner, 0, "0.00");
+    }
+
+    @Test
+    void summaryFollowsBulkUpserts() throws Exception {
+        bulkUpsert(car(CAR_NAME, "10"), car(OTHER_CAR_NAME, "20"));
+        expectSummary(firstOwner, 2, "30.00");
+
+        CarDTO movedCar = car(OTHER_CAR_NAME, "25");
+        movedCar.setOwner(secondOwner);
+        bulkUpsert(movedCar);
+        expectSummary(firstOwner, 1, "10.00");
+        expectSummary(secondOwner, 1, "25.00");
+    }
+
+    @Test
+    void getAllOwnerFleetSummariesSortedByValue() throws Exception {
+        bulkUpsert(car(CAR_NAME, "10"));
+
+        restOwnerFleetSummaryMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=totalValue,desc&sort=ownerId,asc&size=1000"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$[?(@.ownerId == " + firstOwner.getId() + ")].carCount").value(1));
+    }
+
+    @Test
+    void getAllOwnerFleetSummariesWithUnknownSort() throws Exception {
+        restOwnerFleetSummaryMockMvc.perform(get(ENTITY_API_URL + "?sort=owner.name,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getNonExistingOwnerFleetSummary() throws Exception {
+        restOwnerFleetSummaryMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private OwnerDTO createOwner(String name) throws Exception {
+        OwnerDTO owner = new OwnerDTO();
+        owner.setName(name);
+        owner.setGender("x");
+        return om.readValue(
+            restOwnerFleetSummaryMockMvc
+                .perform(post("/api/owners").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(owner)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            OwnerDTO.class
+        );
+    }
+
+    private CarDTO car(String name, String price) {
+        CarDTO car = new CarDTO();
+        car.setName(name);
+        car.setModel("model");
+        car.setPrice(new BigDecimal(price));
+        car.setOwner(firstOwner);
+        return car;
+    }
+
+    private void bulkUpsert(CarDTO... cars) throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (CarDTO car : cars) {
+            ndjson.append(om.writeValueAsString(car)).append('\n');
+        }
+        restOwnerFleetSummaryMockMvc
+            .perform(post("/api/cars/_bulk").contentType("application/x-ndjson").content(ndjson.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.failed").value(0));
+    }
+
+    private void expectSummary(OwnerDTO owner, long carCount, String totalValue) throws Exception {
+        restOwnerFleetSummaryMockMvc
+            .perform(get(ENTITY_API_URL_ID, owner.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.carCount").value(carCount))
+            .andExpect(jsonPath("$.totalValue").value(Double.parseDouble(totalValue)));
+    }
+}
@@ -10,10 +10,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.company.IntegrationTest;
 import com.company.domain.Owner;
 import com.company.repository.OwnerRepository;
+import com.company.service.dto.ChangesDTO;
 import com.company.service.dto.OwnerDTO;
 import com.company.service.mapper.OwnerMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -21,6 +24,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -93,7 +97,7 @@ class OwnerResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedOwner != null) {
-            ownerRepository.delete(insertedOwner);
+            ownerRepository.deleteById(insertedOwner.getId());
             insertedOwner = null;
         }
     }
@@ -190,6 +194,57 @@ class OwnerResourceIT {
             .andExpect(jsonPath("$.[*].gender").value(hasItem(DEFAULT_GENDER)));
     }
 
+    @Test
+    void getOwnerChanges() throws Exception {
+        // Write the owners outside of a test transaction, as only the committed changes are read
+        ChangesDTO<OwnerDTO> changes = getOwnerChanges("?limit=1000");
+        while (changes.isHasMore()) {
+            changes = getOwnerChanges(nextChanges(changes, 1000));
+        }
+
+        List<Owner> owners = ownerRepository.saveAllAndFlush(List.of(owner, createUpdatedEntity()));
+        insertedOwner = owners.get(0);
+        Long otherOwnerId = owners.get(1).getId();
+
+        // Both owners have the revision of their transaction, which is read one owner at a time
+        changes = getOwnerChanges(nextChanges(changes, 1));
+        assertThat(changes.getChanged()).extracting(OwnerDTO::getId).containsExactly(insertedOwner.getId());
+        assertThat(changes.isHasMore()).isTrue();
+        assertThat(changes.getNextId()).isEqualTo(insertedOwner.getId());
+        changes = getOwnerChanges(nextChanges(changes, 1));
+        assertThat(changes.getChanged()).extracting(OwnerDTO::getId).containsExactly(otherOwnerId);
+        assertThat(changes.getChanged().get(0).getName()).isEqualTo(UPDATED_NAME);
+
+        restOwnerMockMvc.perform(delete(ENTITY_API_URL_ID, otherOwnerId)).andExpect(status().isNoContent());
+
+        changes = getOwnerChanges(nextChanges(changes, 1000));
+        assertThat(changes.getChanged()).isEmpty();
+        assertThat(changes.getDeleted()).containsExactly(otherOwnerId);
+        assertThat(changes.isHasMore()).isFalse();
+    }
+
+    @Test
+    void getOwnerChangesWithInvalidLimit() throws Exception {
+        restOwnerMockMvc.perform(get(ENTITY_API_URL + "/_changes?limit=1001")).andExpect(status().isBadRequest());
+    }
+
+    private ChangesDTO<OwnerDTO> getOwnerChanges(String query) throws Exception {
+        return om.readValue(
+            restOwnerMockMvc
+                .perform(get(ENTITY_API_URL + "/_changes" + query))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            new TypeReference<>() {}
+        );
+    }
+
+    private static String nextChanges(ChangesDTO<?> changes, int limit) {
+        String id = changes.getNextId() != null ? "&id=" + changes.getNextId() : "";
+        return "?revision=" + changes.getNextRevision() + id + "&limit=" + limit;
+    }
+
     @Test
     @Transactional
     void getOwner() throws Exception {
@@ -206,6 +261,27 @@ class OwnerResourceIT {
             .andExpect(jsonPath("$.gender").value(DEFAULT_GENDER));
     }
 
+    @Test
+    @Transactional
+    void getOwnerNotModified() throws Exception {
+        // Initialize the database
+        insertedOwner = ownerRepository.saveAndFlush(owner);
+
+        // The response may be kept by the client, to be revalidated
+        restOwnerMockMvc
+            .perform(get(ENTITY_API_URL_ID, owner.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + owner.getVersion() + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(header().doesNotExist(HttpHeaders.PRAGMA));
+
+        restOwnerMockMvc
+            .perform(get(ENTITY_API_URL_ID, owner.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"" + owner.getVersion() + "\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(content().string(""));
+    }
+
     @Test
     @Transactional
     void getNonExistingOwner() throws Exception {
@@ -239,6 +315,43 @@ class OwnerResourceIT {
         assertPersistedOwnerToMatchAllProperties(updatedOwner);
     }
 
+    @Test
+    @Transactional
+    void putExistingOwnerWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedOwner = ownerRepository.saveAndFlush(owner);
+        long version = owner.getVersion();
+
+        OwnerDTO ownerDTO = ownerMapper.toDto(owner);
+        ownerDTO.setName(UPDATED_NAME);
+
+        restOwnerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, ownerDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (version + 1) + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(ownerDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restOwnerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, ownerDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(ownerDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+
+        // The version of the DTO is now stale
+        restOwnerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, ownerDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ownerDTO))
+            )
+            .andExpect(status().isConflict());
+    }
+
     @Test
     @Transactional
     void putNonExistingOwner() throws Exception {
@@ -247,18 +360,39 @@ class OwnerResourceIT {
 
         // Create the Owner
         OwnerDTO ownerDTO = ownerMapper.toDto(owner);
+        ownerDTO.setVersion(0L);
 
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restOwnerMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, ownerDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ownerDTO))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Owner in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void putOwnerWithoutVersion() throws Exception {
+        // Initialize the database
+        insertedOwner = ownerRepository.saveAndFlush(owner);
+
+        OwnerDTO ownerDTO = ownerMapper.toDto(owner);
+        ownerDTO.setVersion(null);
+        ownerDTO.setName(UPDATED_NAME);
+
+        restOwnerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, ownerDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ownerDTO))
+            )
+            .andExpect(status().isPreconditionRequired());
+        assertThat(ownerRepository.findById(owner.getId())).hasValueSatisfying(found ->
+            assertThat(found.getName()).isEqualTo(DEFAULT_NAME)
+        );
+    }
+
     @Test
     @Transactional
     void putWithIdMismatchOwner() throws Exception {
@@ -371,7 +505,7 @@ class OwnerResourceIT {
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(ownerDTO))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Owner in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
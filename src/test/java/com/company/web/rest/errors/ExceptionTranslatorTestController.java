@@ -1,7 +1,13 @@
 package com.company.web.rest.errors;
 
+import com.company.security.PasswordEncoderBusyException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
 import jakarta.validation.constraints.NotNull;
+import java.util.Set;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
@@ -22,6 +28,16 @@ public class ExceptionTranslatorTestController {
         // empty method
     }
 
+    @PostMapping("/constraint-violation")
+    public void constraintViolation(@RequestBody TestDTO testDTO) {
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            Set<ConstraintViolation<TestDTO>> violations = validatorFactory
+                .getValidator()
+                .validateValue(TestDTO.class, "test", testDTO.getTest());
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
     @GetMapping("/missing-servlet-request-part")
     public void missingServletRequestPartException(@RequestPart("part") String part) {
         // empty method
@@ -42,6 +58,11 @@ public class ExceptionTranslatorTestController {
         throw new BadCredentialsException("test authentication failed!");
     }
 
+    @GetMapping("/password-encoder-busy")
+    public void passwordEncoderBusy() {
+        throw new PasswordEncoderBusyException("test password encoder busy!");
+    }
+
     @GetMapping("/response-status")
     public void exceptionWithResponseStatus() {
         throw new TestResponseStatusException();
@@ -0,0 +1,61 @@
+package com.company.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Test class for the {@link CursorUtil} utility class.
+ */
+class CursorUtilTest {
+
+    @Test
+    void encodeAndDecodeShouldKeepKeysInOrder() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("price", new BigDecimal("18612.30"));
+        keys.put("name", "youthfully");
+        keys.put("id", 1051L);
+
+        KeysetScrollPosition position = CursorUtil.decode(CursorUtil.encode(ScrollPosition.forward(keys)));
+
+        assertThat(position.isInitial()).isFalse();
+        assertThat(position.getKeys()).containsExactly(
+            Map.entry("price", new BigDecimal("18612.30")),
+            Map.entry("name", "youthfully"),
+            Map.entry("id", 1051L)
+        );
+    }
+
+    @Test
+    void decodeShouldReturnInitialPositionWithoutCursor() {
+        assertThat(CursorUtil.decode(null).isInitial()).isTrue();
+        assertThat(CursorUtil.decode("").isInitial()).isTrue();
+    }
+
+    @Test
+    void decodeShouldRejectMalformedCursor() {
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorUtil.decode("not a cursor!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> CursorUtil.decode("AQ"));
+    }
+
+    @Test
+    void generateCursorHttpHeadersShouldExposeNextCursorOnlyWhenThereIsANextWindow() {
+        Window<String> lastWindow = Window.from(List.of("a"), i -> ScrollPosition.forward(Map.of("id", 1L)), false);
+        Window<String> window = Window.from(List.of("a", "b"), i -> ScrollPosition.forward(Map.of("id", (long) i)), true);
+
+        HttpHeaders lastHeaders = CursorUtil.generateCursorHttpHeaders(lastWindow);
+        HttpHeaders headers = CursorUtil.generateCursorHttpHeaders(window);
+
+        assertThat(lastHeaders.containsKey(CursorUtil.NEXT_CURSOR_HEADER)).isFalse();
+        assertThat(CursorUtil.decode(headers.getFirst(CursorUtil.NEXT_CURSOR_HEADER)).getKeys()).containsEntry("id", 1L);
+    }
+}